@@ -0,0 +1,69 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.hamcrest.Matcher;
+
+/**
+ * Collects verifications and checks all of them during a single pass over request journal. All failures are reported together.
+ */
+class BatchVerifier extends JournalVerifier {
+
+  private final List<Rule> rules = new ArrayList<>();
+  private final List<Matcher<Integer>> expectedCalls = new ArrayList<>();
+
+  BatchVerifier(RequestJournal journal, int parallelVerificationThreshold, JournalSignal journalSignal) {
+    super(journal, parallelVerificationThreshold, journalSignal);
+  }
+
+  @Override
+  void verify(Rule rule, Matcher<Integer> numberOfCalls) {
+    rules.add(rule);
+    expectedCalls.add(numberOfCalls);
+  }
+
+  void verifyAll() {
+    checkJournalIsEnabled();
+    int[] matchingCalls = countMatching(journal.getRequests());
+
+    List<String> failures = new ArrayList<>();
+    for (int i = 0; i < rules.size(); i++) {
+      String failure = check(expectedCalls.get(i), matchingCalls[i]);
+      if (failure != null) {
+        failures.add(String.format("Verification %s: %s", i + 1, failure));
+      }
+    }
+    if (!failures.isEmpty()) {
+      throw new IllegalStateException(String.join("\n", failures));
+    }
+  }
+
+  private int[] countMatching(Collection<Request> requests) {
+    if (requests.size() < parallelVerificationThreshold) {
+      int[] matchingCalls = new int[rules.size()];
+      for (Request request : requests) {
+        countMatching(matchingCalls, request);
+      }
+      return matchingCalls;
+    }
+    return Arrays.stream(requests.toArray(new Request[0]))
+        .parallel()
+        .collect(() -> new int[rules.size()], this::countMatching, this::addCounts);
+  }
+
+  private void countMatching(int[] matchingCalls, Request request) {
+    for (int i = 0; i < rules.size(); i++) {
+      if (rules.get(i).matches(request)) {
+        matchingCalls[i]++;
+      }
+    }
+  }
+
+  private void addCounts(int[] counts, int[] otherCounts) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += otherCounts[i];
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer keeping only the most recent requests. Adding request never blocks. Requests returned while other threads are still adding new ones are a best
+ * effort snapshot.
+ */
+class BoundedRequestJournal implements RequestJournal {
+
+  private final int capacity;
+  private final AtomicReferenceArray<Request> buffer;
+  private final AtomicLong added = new AtomicLong();
+
+  BoundedRequestJournal(int capacity) {
+    this.capacity = capacity;
+    this.buffer = new AtomicReferenceArray<>(capacity);
+  }
+
+  @Override
+  public void add(Request request) {
+    long sequence = added.getAndIncrement();
+    buffer.set((int) (sequence % capacity), request);
+  }
+
+  @Override
+  public Collection<Request> getRequests() {
+    long end = added.get();
+    long start = Math.max(0, end - capacity);
+    List<Request> requests = new ArrayList<>((int) (end - start));
+    for (long sequence = start; sequence < end; sequence++) {
+      Request request = buffer.get((int) (sequence % capacity));
+      if (request != null) {
+        requests.add(request);
+      }
+    }
+    return requests;
+  }
+
+  @Override
+  public long getEvictedCount() {
+    return Math.max(0, added.get() - capacity);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    added.set(0);
+    for (int i = 0; i < capacity; i++) {
+      buffer.set(i, null);
+    }
+  }
+}
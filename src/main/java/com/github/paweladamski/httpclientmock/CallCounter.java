@@ -0,0 +1,70 @@
+package com.github.paweladamski.httpclientmock;
+
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.hamcrest.Matcher;
+
+/**
+ * Counts requests matching defined conditions at the moment they are executed. Verification doesn't need request journal and takes constant time, no
+ * matter how many requests were executed.
+ */
+public class CallCounter {
+
+  private final Rule rule;
+  private final LongAdder calls = new LongAdder();
+
+  CallCounter(Rule rule) {
+    this.rule = rule;
+  }
+
+  void record(Request request) {
+    if (rule.matches(request)) {
+      calls.increment();
+    }
+  }
+
+  /**
+   * Returns number of matching requests executed since counter was registered.
+   *
+   * @return number of matching requests
+   */
+  public long getCount() {
+    return calls.sum();
+  }
+
+  /**
+   * Verifies if there were no request matching defined conditions.
+   */
+  public void notCalled() {
+    called(0);
+  }
+
+  /**
+   * Verifies if there was exactly one request matching defined conditions.
+   */
+  public void called() {
+    called(1);
+  }
+
+  /**
+   * Verifies number of request matching defined conditions.
+   *
+   * @param numberOfCalls expected number of calls
+   */
+  public void called(int numberOfCalls) {
+    called(equalTo(numberOfCalls));
+  }
+
+  /**
+   * Verifies number of request matching defined conditions.
+   *
+   * @param numberOfCalls expected number of calls
+   */
+  public void called(Matcher<Integer> numberOfCalls) {
+    int matchingCalls = (int) getCount();
+    if (!numberOfCalls.matches(matchingCalls)) {
+      throw new IllegalStateException(String.format("Expected %s calls, but found %s.", numberOfCalls, matchingCalls));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Journal which stores compact copies of requests instead of original requests.
+ */
+class CompactRequestJournal implements RequestJournal {
+
+  private final RequestJournal journal;
+  private final int maxBodyBytes;
+  private final Set<String> headers;
+
+  CompactRequestJournal(RequestJournal journal, int maxBodyBytes, Set<String> headers) {
+    this.journal = journal;
+    this.maxBodyBytes = maxBodyBytes;
+    this.headers = headers;
+  }
+
+  @Override
+  public void add(Request request) {
+    journal.add(RecordedRequest.of(request, maxBodyBytes, headers));
+  }
+
+  @Override
+  public Collection<Request> getRequests() {
+    return journal.getRequests();
+  }
+
+  @Override
+  public Collection<Request> getCandidates(Rule rule) {
+    return journal.getCandidates(rule);
+  }
+
+  @Override
+  public long getEvictedCount() {
+    return journal.getEvictedCount();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return journal.isEnabled();
+  }
+
+  @Override
+  public void clear() {
+    journal.clear();
+  }
+}
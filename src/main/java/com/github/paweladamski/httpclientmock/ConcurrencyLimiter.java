@@ -0,0 +1,63 @@
+package com.github.paweladamski.httpclientmock;
+
+import static org.apache.http.HttpStatus.SC_SERVICE_UNAVAILABLE;
+
+import com.github.paweladamski.httpclientmock.action.Action;
+import com.github.paweladamski.httpclientmock.action.StatusWithEmptyEntityResponse;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpResponse;
+
+/**
+ * Limits number of requests handled by a rule at the same time. Request is in flight until its response is released, so slow actions or unread response
+ * bodies keep the limit occupied. Requests over the limit wait for provided time and then get response with status 503.
+ */
+class ConcurrencyLimiter {
+
+  private static final Action REJECTION = new StatusWithEmptyEntityResponse(SC_SERVICE_UNAVAILABLE);
+
+  private final Semaphore permits;
+  private final long maxWaitNanos;
+
+  ConcurrencyLimiter(int maxConcurrentCalls, Duration maxWait) {
+    if (maxConcurrentCalls <= 0) {
+      throw new IllegalArgumentException("Maximal number of concurrent calls must be positive");
+    }
+    this.permits = new Semaphore(maxConcurrentCalls);
+    this.maxWaitNanos = maxWait.toNanos();
+  }
+
+  /**
+   * Takes permit for request. Permit is given back when response to the request is released.
+   *
+   * @return true if request is allowed
+   */
+  boolean tryAcquire(Request request) throws InterruptedIOException {
+    if (!acquire()) {
+      return false;
+    }
+    request.addReleaseHook(permits::release);
+    return true;
+  }
+
+  private boolean acquire() throws InterruptedIOException {
+    if (maxWaitNanos <= 0) {
+      return permits.tryAcquire();
+    }
+    try {
+      return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for concurrent calls to finish");
+      exception.initCause(e);
+      throw exception;
+    }
+  }
+
+  HttpResponse rejection(Request request) throws IOException {
+    return REJECTION.getResponse(request);
+  }
+}
@@ -0,0 +1,31 @@
+package com.github.paweladamski.httpclientmock;
+
+import static java.util.Collections.emptyList;
+
+import java.util.Collection;
+
+class DisabledRequestJournal implements RequestJournal {
+
+  @Override
+  public void add(Request request) {
+  }
+
+  @Override
+  public Collection<Request> getRequests() {
+    return emptyList();
+  }
+
+  @Override
+  public long getEvictedCount() {
+    return 0;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void clear() {
+  }
+}
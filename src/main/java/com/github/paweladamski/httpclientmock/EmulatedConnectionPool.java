@@ -0,0 +1,276 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Connection pool emulated by mock. No real connections are created, but every executed request leases a connection for its route and keeps it until its
+ * response is closed or its body is read to the end, like in PoolingHttpClientConnectionManager. Released connections stay available for the next requests
+ * to the same route. When pool is exhausted request waits for lease timeout and then fails with {@link ConnectionPoolTimeoutException}, so responses which
+ * are never released can be detected in tests.
+ * <p>
+ * Idle connections are tracked with the time they were released, so {@link #closeIdleConnections(long, TimeUnit)} closes only connections which were idle
+ * longer than provided time. After {@link #shutdown()} every lease fails with {@link IllegalStateException}.
+ */
+public class EmulatedConnectionPool implements ConnPoolControl<HttpRoute> {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition connectionReleased = lock.newCondition();
+  private final Map<HttpRoute, Integer> maxPerRoute = new HashMap<>();
+  private final Map<HttpRoute, RouteState> routes = new HashMap<>();
+  private final long leaseTimeoutNanos;
+  private int maxTotal;
+  private int defaultMaxPerRoute;
+  private int leased;
+  private int available;
+  private int pending;
+  private boolean shutdown;
+
+  /**
+   * Creates pool with provided limits.
+   *
+   * @param maxTotal maximal number of connections
+   * @param defaultMaxPerRoute maximal number of connections to a single route
+   * @param leaseTimeout maximal time request waits for connection
+   */
+  public EmulatedConnectionPool(int maxTotal, int defaultMaxPerRoute, Duration leaseTimeout) {
+    this.maxTotal = maxTotal;
+    this.defaultMaxPerRoute = defaultMaxPerRoute;
+    this.leaseTimeoutNanos = leaseTimeout.toNanos();
+  }
+
+  /**
+   * Leases connection to provided host and returns route of leased connection.
+   *
+   * @throws IllegalStateException if pool was shut down
+   */
+  HttpRoute lease(HttpHost host) throws ConnectionPoolTimeoutException, InterruptedIOException {
+    HttpRoute route = new HttpRoute(normalize(host));
+    lock.lock();
+    try {
+      checkNotShutdown();
+      RouteState state = routes.computeIfAbsent(route, r -> new RouteState());
+      long nanos = leaseTimeoutNanos;
+      pending++;
+      state.pending++;
+      try {
+        while (state.leased >= getMaxPerRoute(route) || (state.available.isEmpty() && leased >= maxTotal)) {
+          if (nanos <= 0) {
+            throw new ConnectionPoolTimeoutException(String.format("Timeout waiting for connection from pool %s. Responses which were not closed or read "
+                + "to the end keep their connections leased.", describe(route, state)));
+          }
+          nanos = connectionReleased.awaitNanos(nanos);
+          checkNotShutdown();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for connection from pool");
+        exception.initCause(e);
+        throw exception;
+      } finally {
+        pending--;
+        state.pending--;
+      }
+      if (!state.available.isEmpty()) {
+        state.available.pollLast();
+        available--;
+      } else if (leased + available >= maxTotal) {
+        closeAvailableConnectionOfOtherRoute();
+      }
+      state.leased++;
+      leased++;
+      return route;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gives back connection leased for provided route. Connection stays available for next requests, unless pool was shut down.
+   */
+  void release(HttpRoute route) {
+    lock.lock();
+    try {
+      RouteState state = routes.get(route);
+      state.leased--;
+      leased--;
+      if (!shutdown) {
+        state.available.addLast(System.nanoTime());
+        available++;
+      }
+      connectionReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void closeAvailableConnectionOfOtherRoute() {
+    for (RouteState state : routes.values()) {
+      if (!state.available.isEmpty()) {
+        state.available.pollFirst();
+        available--;
+        return;
+      }
+    }
+  }
+
+  private void checkNotShutdown() {
+    if (shutdown) {
+      throw new IllegalStateException("Connection pool shut down");
+    }
+  }
+
+  private static HttpHost normalize(HttpHost host) {
+    if (host.getPort() >= 0) {
+      return host;
+    }
+    int port = "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80;
+    return new HttpHost(host.getHostName(), port, host.getSchemeName());
+  }
+
+  private String describe(HttpRoute route, RouteState state) {
+    return String.format("[route: %s][total leased: %s; route leased: %s; max total: %s; max per route: %s]", route, leased, state.leased, maxTotal,
+        getMaxPerRoute(route));
+  }
+
+  @Override
+  public void setMaxTotal(int max) {
+    lock.lock();
+    try {
+      this.maxTotal = max;
+      connectionReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getMaxTotal() {
+    lock.lock();
+    try {
+      return maxTotal;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void setDefaultMaxPerRoute(int max) {
+    lock.lock();
+    try {
+      this.defaultMaxPerRoute = max;
+      connectionReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getDefaultMaxPerRoute() {
+    lock.lock();
+    try {
+      return defaultMaxPerRoute;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void setMaxPerRoute(HttpRoute route, int max) {
+    lock.lock();
+    try {
+      maxPerRoute.put(route, max);
+      connectionReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getMaxPerRoute(HttpRoute route) {
+    lock.lock();
+    try {
+      return maxPerRoute.getOrDefault(route, defaultMaxPerRoute);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public PoolStats getTotalStats() {
+    lock.lock();
+    try {
+      return new PoolStats(leased, pending, available, maxTotal);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public PoolStats getStats(HttpRoute route) {
+    lock.lock();
+    try {
+      RouteState state = routes.getOrDefault(route, new RouteState());
+      return new PoolStats(state.leased, state.pending, state.available.size(), getMaxPerRoute(route));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes available connections which were released earlier than provided time ago.
+   *
+   * @param idletime minimal idle time of closed connections
+   * @param timeUnit unit of idle time
+   */
+  public void closeIdleConnections(long idletime, TimeUnit timeUnit) {
+    long deadline = System.nanoTime() - Math.max(0, timeUnit.toNanos(idletime));
+    lock.lock();
+    try {
+      for (RouteState state : routes.values()) {
+        while (!state.available.isEmpty() && state.available.peekFirst() - deadline <= 0) {
+          state.available.pollFirst();
+          available--;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes available connections and makes every next lease fail. Connections released after shutdown are closed.
+   */
+  public void shutdown() {
+    lock.lock();
+    try {
+      shutdown = true;
+      for (RouteState state : routes.values()) {
+        state.available.clear();
+      }
+      available = 0;
+      connectionReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static class RouteState {
+
+    private final Deque<Long> available = new ArrayDeque<>();
+    private int leased;
+    private int pending;
+  }
+}
@@ -0,0 +1,48 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.util.Objects;
+
+/**
+ * Host, port and path of URL. Used as a key for looking up rules and requests defined with literal URL.
+ */
+class Endpoint {
+
+  private final String host;
+  private final int port;
+  private final String path;
+
+  Endpoint(String host, int port, String path) {
+    this.host = host;
+    this.port = port;
+    this.path = path;
+  }
+
+  static Endpoint of(ParsedUrl url) {
+    return new Endpoint(url.getHost(), url.getPort(), url.getPath());
+  }
+
+  String getHost() {
+    return host;
+  }
+
+  Endpoint withHost(String host) {
+    return new Endpoint(host, port, path);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Endpoint endpoint = (Endpoint) o;
+    return port == endpoint.port && host.equals(endpoint.host) && path.equals(endpoint.path);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(host, port, path);
+  }
+}
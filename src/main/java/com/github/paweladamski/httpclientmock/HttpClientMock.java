@@ -3,6 +3,7 @@ package com.github.paweladamski.httpclientmock;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.http.HttpException;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
@@ -18,24 +19,35 @@ import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.params.BasicHttpParams;
 import org.apache.http.params.HttpParams;
 import org.apache.http.protocol.HttpContext;
 
+/**
+ * Mock of Apache HttpClient. Rules should be defined before requests are executed. Requests can be executed concurrently from many threads: rules are kept
+ * in an immutable table which is replaced atomically when new rules are added, executed requests are appended to a concurrent queue and rules with
+ * multiple actions pick the next action atomically.
+ */
 public class HttpClientMock extends CloseableHttpClient {
 
   private final HttpParams params = new BasicHttpParams();
   private final Debugger debugger;
 
   private final List<RuleBuilder> rulesUnderConstruction = new ArrayList<>();
-  private final List<Rule> rules = new ArrayList<>();
+  private volatile boolean hasRulesUnderConstruction = false;
+  private volatile RuleTable ruleTable = RuleTable.EMPTY;
   private final String defaultHost;
-  private final List<Request> requests = new ArrayList<>();
-  private boolean isDebuggingTurnOn = false;
+  private volatile RequestJournal journal = JournalPolicy.unbounded().createJournal();
+  private final List<CallCounter> callCounters = new CopyOnWriteArrayList<>();
+  private final JournalSignal journalSignal = new JournalSignal();
+  private volatile EmulatedConnectionPool connectionPool;
+  private volatile int parallelVerificationThreshold = JournalVerifier.DEFAULT_PARALLEL_VERIFICATION_THRESHOLD;
+  private volatile boolean isDebuggingTurnOn = false;
 
-  private final List<HttpRequestInterceptor> requestInterceptors = new ArrayList<>();
-  private final List<HttpResponseInterceptor> responseInterceptors = new ArrayList<>();
+  private final List<HttpRequestInterceptor> requestInterceptors = new CopyOnWriteArrayList<>();
+  private final List<HttpResponseInterceptor> responseInterceptors = new CopyOnWriteArrayList<>();
 
   /**
    * Creates mock of Apache HttpClient
@@ -65,12 +77,16 @@ public class HttpClientMock extends CloseableHttpClient {
   }
 
   /**
-   * Resets mock to initial state where there are no rules and no previous requests.
+   * Resets mock to initial state where there are no rules, no previous requests and no call counters.
    */
   public void reset() {
-    this.rulesUnderConstruction.clear();
-    this.rules.clear();
-    this.requests.clear();
+    synchronized (rulesUnderConstruction) {
+      this.rulesUnderConstruction.clear();
+      this.hasRulesUnderConstruction = false;
+      this.ruleTable = RuleTable.EMPTY;
+    }
+    this.journal.clear();
+    this.callCounters.clear();
   }
 
   /**
@@ -79,7 +95,45 @@ public class HttpClientMock extends CloseableHttpClient {
    * @return request number verification builder
    */
   public HttpClientVerify verify() {
-    return new HttpClientVerify(defaultHost, requests);
+    return new HttpClientVerify(defaultHost, journal, callCounters, parallelVerificationThreshold, journalSignal);
+  }
+
+  /**
+   * Sets number of requests above which verification matches requests in parallel. Default threshold is 100 000 requests. Custom conditions used in
+   * verification must be thread-safe when parallel verification is used.
+   *
+   * @param parallelVerificationThreshold minimal number of requests verified in parallel
+   */
+  public void setParallelVerificationThreshold(int parallelVerificationThreshold) {
+    this.parallelVerificationThreshold = parallelVerificationThreshold;
+  }
+
+  /**
+   * Sets connection pool emulated by mock. Every executed request leases connection from the pool and releases it when response is closed or its body is
+   * read to the end. By default there is no pool and requests are never limited.
+   *
+   * @param connectionPool emulated connection pool or null to disable it
+   */
+  public void setConnectionPool(EmulatedConnectionPool connectionPool) {
+    this.connectionPool = connectionPool;
+  }
+
+  /**
+   * Returns connection pool emulated by mock, e.g. to check its stats.
+   *
+   * @return emulated connection pool or null if it is not set
+   */
+  public EmulatedConnectionPool getConnectionPool() {
+    return connectionPool;
+  }
+
+  /**
+   * Sets which executed requests are kept for verification. Requests kept so far are discarded.
+   *
+   * @param journalPolicy journal policy
+   */
+  public void setJournalPolicy(JournalPolicy journalPolicy) {
+    this.journal = journalPolicy.createJournal();
   }
 
   /**
@@ -230,14 +284,18 @@ public class HttpClientMock extends CloseableHttpClient {
   }
 
   private HttpClientMockBuilder newRule(String method) {
-    RuleBuilder r = new RuleBuilder(method);
-    rulesUnderConstruction.add(r);
-    return new HttpClientMockBuilder(r);
+    return addRuleUnderConstruction(new RuleBuilder(method));
   }
 
   private HttpClientMockBuilder newRule(String method, String url) {
-    RuleBuilder r = new RuleBuilder(method, defaultHost, url);
-    rulesUnderConstruction.add(r);
+    return addRuleUnderConstruction(new RuleBuilder(method, defaultHost, url));
+  }
+
+  private HttpClientMockBuilder addRuleUnderConstruction(RuleBuilder r) {
+    synchronized (rulesUnderConstruction) {
+      rulesUnderConstruction.add(r);
+      hasRulesUnderConstruction = true;
+    }
     return new HttpClientMockBuilder(r);
   }
 
@@ -245,9 +303,32 @@ public class HttpClientMock extends CloseableHttpClient {
   protected CloseableHttpResponse doExecute(HttpHost httpHost, HttpRequest httpRequest, HttpContext httpContext) throws IOException {
     finishBuildingRules();
     executeRequestInterceptors(httpRequest, httpContext);
-    HttpResponse response = getHttpResponse(httpHost, httpRequest, httpContext);
-    executeResponseInterceptors(httpContext, response);
-    return new HttpResponseProxy(response);
+    Request request = new Request(httpHost, httpRequest, httpContext);
+    leaseConnection(request);
+    HttpResponse response;
+    try {
+      response = getHttpResponse(request);
+      executeResponseInterceptors(httpContext, response);
+    } catch (IOException | RuntimeException e) {
+      release(request);
+      throw e;
+    }
+    return new HttpResponseProxy(response, request.getReleaseHooks());
+  }
+
+  private void leaseConnection(Request request) throws IOException {
+    EmulatedConnectionPool pool = connectionPool;
+    if (pool != null) {
+      HttpRoute route = pool.lease(request.getHttpHost());
+      request.addReleaseHook(() -> pool.release(route));
+    }
+  }
+
+  private void release(Request request) {
+    ReleaseHooks releaseHooks = request.getReleaseHooks();
+    if (releaseHooks != null) {
+      releaseHooks.release();
+    }
   }
 
   private void executeResponseInterceptors(HttpContext httpContext, HttpResponse response) throws IOException {
@@ -260,15 +341,16 @@ public class HttpClientMock extends CloseableHttpClient {
     }
   }
 
-  private HttpResponse getHttpResponse(HttpHost httpHost, HttpRequest httpRequest, HttpContext httpContext) throws IOException {
-    Request request = new Request(httpHost, httpRequest, httpContext);
-    requests.add(request);
-    Rule rule = rules.stream()
-        .filter(r -> r.matches(httpHost, httpRequest, httpContext))
-        .reduce((a, b) -> b)
-        .orElse(Rule.NOT_FOUND);
+  private HttpResponse getHttpResponse(Request request) throws IOException {
+    journal.add(request);
+    journalSignal.requestAdded();
+    for (CallCounter callCounter : callCounters) {
+      callCounter.record(request);
+    }
+    RuleTable rules = ruleTable;
+    Rule rule = rules.findLastMatching(request);
     if (isDebuggingTurnOn || rule == Rule.NOT_FOUND) {
-      debugger.debug(rules, request);
+      debugger.debug(rules.getRules(), request);
     }
     return rule.nextResponse(request);
   }
@@ -284,11 +366,22 @@ public class HttpClientMock extends CloseableHttpClient {
   }
 
   private void finishBuildingRules() {
+    // Volatile read keeps the common path (no new rules since last request) free of locking. Flag is set after rule is added, so a rule defined
+    // before request is always seen by it.
+    if (!hasRulesUnderConstruction) {
+      return;
+    }
     synchronized (rulesUnderConstruction) {
+      if (rulesUnderConstruction.isEmpty()) {
+        return;
+      }
+      List<Rule> newRules = new ArrayList<>();
       for (RuleBuilder ruleBuilder : rulesUnderConstruction) {
-        rules.add(ruleBuilder.toRule());
+        newRules.add(ruleBuilder.toRule());
       }
+      ruleTable = ruleTable.withRules(newRules);
       rulesUnderConstruction.clear();
+      hasRulesUnderConstruction = false;
     }
   }
 
@@ -3,6 +3,7 @@ package com.github.paweladamski.httpclientmock;
 import static org.hamcrest.Matchers.equalTo;
 
 import com.github.paweladamski.httpclientmock.action.Action;
+import com.github.paweladamski.httpclientmock.action.InputStreamSupplier;
 import com.github.paweladamski.httpclientmock.condition.BodyMatcher;
 import com.github.paweladamski.httpclientmock.condition.Condition;
 import com.github.paweladamski.httpclientmock.condition.HeaderCondition;
@@ -10,6 +11,8 @@ import com.github.paweladamski.httpclientmock.matchers.ParametersMatcher;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import org.apache.http.NameValuePair;
 import org.apache.http.entity.ContentType;
@@ -17,6 +20,8 @@ import org.hamcrest.Matcher;
 
 public class HttpClientMockBuilder {
 
+  private static final int SC_TOO_MANY_REQUESTS = 429;
+
   private final RuleBuilder ruleBuilder;
   private final HttpClientResponseBuilder responseBuilder;
 
@@ -223,6 +228,67 @@ public class HttpClientMockBuilder {
     return this;
   }
 
+  /**
+   * Limits number of requests handled by rule. Requests over the limit get response with status 429 and "Retry-After" header. Other requests get responses
+   * from actions defined in rule.
+   *
+   * @param requestsPerSecond number of requests allowed per second
+   * @return condition builder
+   */
+  public HttpClientMockBuilder withRateLimit(double requestsPerSecond) {
+    return withRateLimit(requestsPerSecond, 1);
+  }
+
+  /**
+   * Limits number of requests handled by rule, allowing bursts of provided size. Requests over the limit get response with status 429 and "Retry-After"
+   * header. Other requests get responses from actions defined in rule.
+   *
+   * @param requestsPerSecond number of requests allowed per second
+   * @param burst number of requests allowed at once
+   * @return condition builder
+   */
+  public HttpClientMockBuilder withRateLimit(double requestsPerSecond, int burst) {
+    return withRateLimit(requestsPerSecond, burst, SC_TOO_MANY_REQUESTS);
+  }
+
+  /**
+   * Limits number of requests handled by rule, allowing bursts of provided size. Requests over the limit get response with provided status and
+   * "Retry-After" header. Other requests get responses from actions defined in rule.
+   *
+   * @param requestsPerSecond number of requests allowed per second
+   * @param burst number of requests allowed at once
+   * @param rejectionStatus status of response to requests over the limit
+   * @return condition builder
+   */
+  public HttpClientMockBuilder withRateLimit(double requestsPerSecond, int burst, int rejectionStatus) {
+    ruleBuilder.setRateLimiter(new RateLimiter(requestsPerSecond, burst, rejectionStatus));
+    return this;
+  }
+
+  /**
+   * Limits number of requests handled by rule at the same time. Request is handled until its response is closed or its body is read to the end. Requests
+   * over the limit get response with status 503.
+   *
+   * @param maxConcurrentCalls maximal number of requests handled at the same time
+   * @return condition builder
+   */
+  public HttpClientMockBuilder withMaxConcurrentCalls(int maxConcurrentCalls) {
+    return withMaxConcurrentCalls(maxConcurrentCalls, Duration.ZERO);
+  }
+
+  /**
+   * Limits number of requests handled by rule at the same time. Request is handled until its response is closed or its body is read to the end. Requests
+   * over the limit wait for provided time and then get response with status 503.
+   *
+   * @param maxConcurrentCalls maximal number of requests handled at the same time
+   * @param maxWait maximal time request waits for other requests to finish
+   * @return condition builder
+   */
+  public HttpClientMockBuilder withMaxConcurrentCalls(int maxConcurrentCalls, Duration maxWait) {
+    ruleBuilder.setConcurrencyLimiter(new ConcurrencyLimiter(maxConcurrentCalls, maxWait));
+    return this;
+  }
+
   /**
    * Adds custom action.
    *
@@ -287,6 +353,88 @@ public class HttpClientMockBuilder {
     return responseBuilder.doReturn(response, charset, contentType);
   }
 
+  /**
+   * Adds action which returns content of provided file with content type "application/octet-stream" and status 200. File is memory-mapped during first
+   * call instead of being loaded to heap.
+   *
+   * @param file file to return
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnFile(Path file) {
+    return responseBuilder.doReturnFile(file);
+  }
+
+  /**
+   * Adds action which returns content of provided file with provided content type and status 200. File is memory-mapped during first call instead of
+   * being loaded to heap.
+   *
+   * @param file file to return
+   * @param contentType content type of response
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnFile(Path file, ContentType contentType) {
+    return responseBuilder.doReturnFile(file, contentType);
+  }
+
+  /**
+   * Adds action which returns content of provided classpath resource with content type "application/octet-stream" and status 200. Resource is not
+   * loaded to heap, it is memory-mapped or streamed.
+   *
+   * @param resource name of classpath resource
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnResource(String resource) {
+    return responseBuilder.doReturnResource(resource);
+  }
+
+  /**
+   * Adds action which returns content of provided classpath resource with provided content type and status 200. Resource is not loaded to heap, it
+   * is memory-mapped or streamed.
+   *
+   * @param resource name of classpath resource
+   * @param contentType content type of response
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnResource(String resource, ContentType contentType) {
+    return responseBuilder.doReturnResource(resource, contentType);
+  }
+
+  /**
+   * Adds action which returns body read from streams created by provided supplier, with content type "application/octet-stream" and status 200. Body has
+   * unknown length, so it is chunked. Supplier is called every time body is read.
+   *
+   * @param supplier supplier of body streams
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnStream(InputStreamSupplier supplier) {
+    return responseBuilder.doReturnStream(supplier);
+  }
+
+  /**
+   * Adds action which returns body read from streams created by provided supplier, with content type "application/octet-stream" and status 200. Supplier is
+   * called every time body is read.
+   *
+   * @param supplier supplier of body streams
+   * @param length length of body, negative if unknown
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnStream(InputStreamSupplier supplier, long length) {
+    return responseBuilder.doReturnStream(supplier, length);
+  }
+
+  /**
+   * Adds action which returns body read from streams created by provided supplier, with provided content type and status 200. Supplier is called every
+   * time body is read.
+   *
+   * @param supplier supplier of body streams
+   * @param length length of body, negative if unknown
+   * @param contentType content type of response
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnStream(InputStreamSupplier supplier, long length, ContentType contentType) {
+    return responseBuilder.doReturnStream(supplier, length, contentType);
+  }
+
   /**
    * Adds action which returns provided status and null entity.
    *
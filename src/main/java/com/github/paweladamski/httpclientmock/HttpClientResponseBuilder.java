@@ -4,17 +4,28 @@ import static org.apache.http.entity.ContentType.APPLICATION_JSON;
 import static org.apache.http.entity.ContentType.APPLICATION_XML;
 
 import com.github.paweladamski.httpclientmock.action.Action;
+import com.github.paweladamski.httpclientmock.action.BandwidthAction;
+import com.github.paweladamski.httpclientmock.action.BodyFailureAction;
 import com.github.paweladamski.httpclientmock.action.CookieAction;
+import com.github.paweladamski.httpclientmock.action.DelayAction;
 import com.github.paweladamski.httpclientmock.action.ExceptionAction;
+import com.github.paweladamski.httpclientmock.action.FileResponse;
 import com.github.paweladamski.httpclientmock.action.HeaderAction;
+import com.github.paweladamski.httpclientmock.action.InputStreamSupplier;
+import com.github.paweladamski.httpclientmock.action.Latency;
+import com.github.paweladamski.httpclientmock.action.ResourceResponse;
 import com.github.paweladamski.httpclientmock.action.StatusWithEmptyEntityResponse;
 import com.github.paweladamski.httpclientmock.action.StatusWithNullEntityResponse;
+import com.github.paweladamski.httpclientmock.action.StreamResponse;
 import com.github.paweladamski.httpclientmock.action.StringResponse;
 import com.github.paweladamski.httpclientmock.action.UrlEncodedFormEntityResponse;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.function.Supplier;
 import org.apache.http.NameValuePair;
 import org.apache.http.entity.ContentType;
 
@@ -81,6 +92,105 @@ public class HttpClientResponseBuilder {
     return this;
   }
 
+  /**
+   * Delays response by provided time.
+   *
+   * @param delay response delay
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withDelay(Duration delay) {
+    return withDelay(Latency.fixed(delay));
+  }
+
+  /**
+   * Delays response by random time uniformly distributed between provided values.
+   *
+   * @param minDelay minimal response delay
+   * @param maxDelay maximal response delay
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withDelay(Duration minDelay, Duration maxDelay) {
+    return withDelay(Latency.uniform(minDelay, maxDelay));
+  }
+
+  /**
+   * Delays response by time taken from provided latency distribution, e.g.
+   * <code>withDelay(Latency.percentile(50, ofMillis(20)).percentile(99, ofMillis(500)))</code>. Calling thread sleeps, so the delay is observed by
+   * timeouts of code under test.
+   *
+   * @param latency latency distribution
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withDelay(Latency latency) {
+    Action lastAction = newRule.getLastAction();
+    DelayAction delayAction = new DelayAction(lastAction, latency);
+    newRule.overrideLastAction(delayAction);
+    return this;
+  }
+
+  /**
+   * Limits speed of reading response body to provided bandwidth.
+   *
+   * @param bytesPerSecond bandwidth in bytes per second
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withBandwidth(long bytesPerSecond) {
+    return withBandwidth(bytesPerSecond, Duration.ZERO);
+  }
+
+  /**
+   * Limits speed of reading response body to provided bandwidth. The first byte of body is available after provided time.
+   *
+   * @param bytesPerSecond bandwidth in bytes per second
+   * @param timeToFirstByte delay of the first byte of body
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withBandwidth(long bytesPerSecond, Duration timeToFirstByte) {
+    Action lastAction = newRule.getLastAction();
+    BandwidthAction bandwidthAction = new BandwidthAction(lastAction, bytesPerSecond, timeToFirstByte);
+    newRule.overrideLastAction(bandwidthAction);
+    return this;
+  }
+
+  /**
+   * Makes reading response body fail with provided exception after provided number of bytes, e.g. to emulate connection closed by server. If body is
+   * shorter, reading fails at its end.
+   *
+   * @param bytes number of bytes read successfully
+   * @param exceptionSupplier supplier of exception thrown when reading the next byte, called for every failing body
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withBodyFailureAfterBytes(long bytes, Supplier<? extends IOException> exceptionSupplier) {
+    Action lastAction = newRule.getLastAction();
+    newRule.overrideLastAction(BodyFailureAction.afterBytes(lastAction, bytes, exceptionSupplier));
+    return this;
+  }
+
+  /**
+   * Makes reading response body fail with provided exception when provided time passes since reading started, e.g. to emulate socket timeout. If body ends
+   * earlier, the last read blocks until that time.
+   *
+   * @param delay time after which reading fails
+   * @param exceptionSupplier supplier of exception thrown by read, called for every failing body
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withBodyFailureAfterDelay(Duration delay, Supplier<? extends IOException> exceptionSupplier) {
+    Action lastAction = newRule.getLastAction();
+    newRule.overrideLastAction(BodyFailureAction.afterDelay(lastAction, delay, exceptionSupplier));
+    return this;
+  }
+
+  /**
+   * Sets what happens after all actions defined in rule were used. By default the last action is used for every next request.
+   *
+   * @param sequencePolicy sequence policy
+   * @return response builder
+   */
+  public HttpClientResponseBuilder withSequencePolicy(SequencePolicy sequencePolicy) {
+    newRule.setSequencePolicy(sequencePolicy);
+    return this;
+  }
+
   /**
    * Adds custom action.
    *
@@ -148,6 +258,91 @@ public class HttpClientResponseBuilder {
     return new HttpClientResponseBuilder(newRule);
   }
 
+  /**
+   * Adds action which returns content of provided file with content type "application/octet-stream" and status 200. File is memory-mapped during first
+   * call instead of being loaded to heap.
+   *
+   * @param file file to return
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnFile(Path file) {
+    return doReturnFile(file, ContentType.APPLICATION_OCTET_STREAM);
+  }
+
+  /**
+   * Adds action which returns content of provided file with provided content type and status 200. File is memory-mapped during first call instead of
+   * being loaded to heap.
+   *
+   * @param file file to return
+   * @param contentType content type of response
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnFile(Path file, ContentType contentType) {
+    newRule.addAction(new FileResponse(file, contentType));
+    return new HttpClientResponseBuilder(newRule);
+  }
+
+  /**
+   * Adds action which returns content of provided classpath resource with content type "application/octet-stream" and status 200. Resource is not
+   * loaded to heap, it is memory-mapped or streamed.
+   *
+   * @param resource name of classpath resource
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnResource(String resource) {
+    return doReturnResource(resource, ContentType.APPLICATION_OCTET_STREAM);
+  }
+
+  /**
+   * Adds action which returns content of provided classpath resource with provided content type and status 200. Resource is not loaded to heap, it
+   * is memory-mapped or streamed.
+   *
+   * @param resource name of classpath resource
+   * @param contentType content type of response
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnResource(String resource, ContentType contentType) {
+    newRule.addAction(new ResourceResponse(resource, contentType));
+    return new HttpClientResponseBuilder(newRule);
+  }
+
+  /**
+   * Adds action which returns body read from streams created by provided supplier, with content type "application/octet-stream" and status 200. Body has
+   * unknown length, so it is chunked. Supplier is called every time body is read.
+   *
+   * @param supplier supplier of body streams
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnStream(InputStreamSupplier supplier) {
+    return doReturnStream(supplier, -1);
+  }
+
+  /**
+   * Adds action which returns body read from streams created by provided supplier, with content type "application/octet-stream" and status 200. Supplier is
+   * called every time body is read.
+   *
+   * @param supplier supplier of body streams
+   * @param length length of body, negative if unknown
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnStream(InputStreamSupplier supplier, long length) {
+    return doReturnStream(supplier, length, ContentType.APPLICATION_OCTET_STREAM);
+  }
+
+  /**
+   * Adds action which returns body read from streams created by provided supplier, with provided content type and status 200. Supplier is called every
+   * time body is read.
+   *
+   * @param supplier supplier of body streams
+   * @param length length of body, negative if unknown
+   * @param contentType content type of response
+   * @return response builder
+   */
+  public HttpClientResponseBuilder doReturnStream(InputStreamSupplier supplier, long length, ContentType contentType) {
+    newRule.addAction(new StreamResponse(supplier, length, contentType));
+    return new HttpClientResponseBuilder(newRule);
+  }
+
   /**
    * Adds action which returns provided status and null entity.
    *
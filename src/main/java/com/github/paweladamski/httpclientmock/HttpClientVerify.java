@@ -1,6 +1,8 @@
 package com.github.paweladamski.httpclientmock;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
@@ -13,21 +15,61 @@ import org.apache.http.client.methods.HttpPut;
 public class HttpClientVerify {
 
   private final String defaultHost;
-  private final List<Request> requests;
-
+  private final RequestJournal journal;
+  private final Collection<CallCounter> callCounters;
+  private final int parallelVerificationThreshold;
+  private final JournalSignal journalSignal;
+  private final JournalVerifier verifier;
+
+  /**
+   * Creates verification of provided requests. Call counters can't be registered with {@link HttpClientVerifyBuilder#countCalls()}, because requests were
+   * already executed. Use {@link HttpClientMock#verify()} to register them.
+   *
+   * @param defaultHost host used when verification URL has no host
+   * @param requests executed requests
+   */
   public HttpClientVerify(String defaultHost, List<Request> requests) {
-    this.requests = requests;
+    this(defaultHost, new UnboundedRequestJournal(requests), null, JournalVerifier.DEFAULT_PARALLEL_VERIFICATION_THRESHOLD, new JournalSignal());
+  }
+
+  HttpClientVerify(String defaultHost, RequestJournal journal, Collection<CallCounter> callCounters, int parallelVerificationThreshold,
+      JournalSignal journalSignal) {
+    this(defaultHost, journal, callCounters, parallelVerificationThreshold, journalSignal,
+        new JournalVerifier(journal, parallelVerificationThreshold, journalSignal));
+  }
+
+  private HttpClientVerify(String defaultHost, RequestJournal journal, Collection<CallCounter> callCounters, int parallelVerificationThreshold,
+      JournalSignal journalSignal, JournalVerifier verifier) {
+    this.journal = journal;
+    this.callCounters = callCounters;
+    this.parallelVerificationThreshold = parallelVerificationThreshold;
+    this.journalSignal = journalSignal;
+    this.verifier = verifier;
     this.defaultHost = defaultHost;
   }
 
   private HttpClientVerifyBuilder newRule(String method) {
     RuleBuilder r = new RuleBuilder(method);
-    return new HttpClientVerifyBuilder(r, requests);
+    return new HttpClientVerifyBuilder(r, verifier, callCounters);
   }
 
   private HttpClientVerifyBuilder newRule(String method, String url) {
     RuleBuilder r = new RuleBuilder(method, defaultHost, url);
-    return new HttpClientVerifyBuilder(r, requests);
+    return new HttpClientVerifyBuilder(r, verifier, callCounters);
+  }
+
+  /**
+   * Verifies many conditions at once. Verifications defined in provided consumer are collected and checked during a single pass over executed requests,
+   * which is much faster than checking them one by one when there are a lot of requests. All failed verifications are reported together.
+   * <p>For example:<br>
+   * <code>httpClientMock.verify().all(v -&gt; { v.get("/login").called(); v.post("/logout").notCalled(); });</code>
+   *
+   * @param verifications consumer defining verifications
+   */
+  public void all(Consumer<HttpClientVerify> verifications) {
+    BatchVerifier batchVerifier = new BatchVerifier(journal, parallelVerificationThreshold, journalSignal);
+    verifications.accept(new HttpClientVerify(defaultHost, journal, callCounters, parallelVerificationThreshold, journalSignal, batchVerifier));
+    batchVerifier.verifyAll();
   }
 
   public HttpClientVerifyBuilder post(String url) {
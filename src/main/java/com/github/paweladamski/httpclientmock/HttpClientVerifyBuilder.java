@@ -6,16 +6,19 @@ import com.github.paweladamski.httpclientmock.condition.BodyMatcher;
 import com.github.paweladamski.httpclientmock.condition.Condition;
 import com.github.paweladamski.httpclientmock.condition.HeaderCondition;
 import com.github.paweladamski.httpclientmock.matchers.ParametersMatcher;
-import java.util.List;
+import java.time.Duration;
+import java.util.Collection;
 import org.hamcrest.Matcher;
 
 public class HttpClientVerifyBuilder {
 
   private final RuleBuilder ruleBuilder;
-  private final List<Request> requests;
+  private final JournalVerifier verifier;
+  private final Collection<CallCounter> callCounters;
 
-  HttpClientVerifyBuilder(RuleBuilder ruleBuilder, List<Request> requests) {
-    this.requests = requests;
+  HttpClientVerifyBuilder(RuleBuilder ruleBuilder, JournalVerifier verifier, Collection<CallCounter> callCounters) {
+    this.verifier = verifier;
+    this.callCounters = callCounters;
     this.ruleBuilder = ruleBuilder;
   }
 
@@ -246,14 +249,56 @@ public class HttpClientVerifyBuilder {
    * @param numberOfCalls expected number of calls
    */
   public void called(Matcher<Integer> numberOfCalls) {
-    Rule rule = ruleBuilder.toRule();
-    int matchingCalls = (int) requests.stream()
-        .filter(rule::matches)
-        .count();
+    verifier.verify(ruleBuilder.toRule(), numberOfCalls);
+  }
+
+  /**
+   * Waits until there is exactly one request matching defined conditions. Mock wakes waiting thread every time it executes new request, so verification
+   * finishes as soon as the request is executed.
+   *
+   * @param timeout maximal waiting time
+   * @throws IllegalStateException when there was no matching request before timeout
+   */
+  public void calledWithin(Duration timeout) {
+    awaitCalled(1, timeout);
+  }
 
-    if (!numberOfCalls.matches(matchingCalls)) {
-      throw new IllegalStateException(String.format("Expected %s calls, but found %s.", numberOfCalls, matchingCalls));
+  /**
+   * Waits until number of requests matching defined conditions is equal to expected value.
+   *
+   * @param numberOfCalls expected number of calls
+   * @param timeout maximal waiting time
+   * @throws IllegalStateException when number of calls was different when timeout elapsed
+   */
+  public void awaitCalled(int numberOfCalls, Duration timeout) {
+    awaitCalled(equalTo(numberOfCalls), timeout);
+  }
+
+  /**
+   * Waits until number of requests matching defined conditions matches provided matcher.
+   *
+   * @param numberOfCalls expected number of calls
+   * @param timeout maximal waiting time
+   * @throws IllegalStateException when number of calls didn't match when timeout elapsed
+   */
+  public void awaitCalled(Matcher<Integer> numberOfCalls, Duration timeout) {
+    verifier.await(ruleBuilder.toRule(), numberOfCalls, timeout);
+  }
+
+  /**
+   * Registers call counter with defined conditions. Counter checks every request at the moment it is executed, so only requests executed after registration
+   * are counted. Counting doesn't need request journal, so it can be used with {@link JournalPolicy#disabled()}. Counter stops counting when mock is reset.
+   *
+   * @return call counter
+   * @throws IllegalStateException when verification was not created by {@link HttpClientMock#verify()}
+   */
+  public CallCounter countCalls() {
+    if (callCounters == null) {
+      throw new IllegalStateException("Call counters can be registered only in verification created by HttpClientMock.verify().");
     }
+    CallCounter callCounter = new CallCounter(ruleBuilder.toRule());
+    callCounters.add(callCounter);
+    return callCounter;
   }
 
 }
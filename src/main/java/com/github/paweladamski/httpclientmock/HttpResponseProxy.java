@@ -14,14 +14,32 @@ import org.apache.http.params.HttpParams;
 class HttpResponseProxy implements CloseableHttpResponse {
 
   private final HttpResponse original;
+  private final ReleaseHooks releaseHooks;
 
   public HttpResponseProxy(HttpResponse original) {
-    this.original = original;
+    this(original, null);
+  }
 
+  /**
+   * Creates proxy which releases response when it is closed or its entity is read to the end. Response without entity is released immediately.
+   */
+  HttpResponseProxy(HttpResponse original, ReleaseHooks releaseHooks) {
+    this.original = original;
+    this.releaseHooks = releaseHooks;
+    if (releaseHooks != null) {
+      HttpEntity entity = original.getEntity();
+      if (entity == null) {
+        releaseHooks.release();
+      } else {
+        original.setEntity(new ReleasingEntity(entity, releaseHooks));
+      }
+    }
   }
 
   public void close() throws IOException {
-
+    if (releaseHooks != null) {
+      releaseHooks.release();
+    }
   }
 
   public StatusLine getStatusLine() {
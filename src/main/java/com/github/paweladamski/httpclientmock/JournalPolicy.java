@@ -0,0 +1,73 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Defines which executed requests are kept by mock for later verification.
+ */
+public final class JournalPolicy {
+
+  private final Supplier<RequestJournal> journalFactory;
+
+  private JournalPolicy(Supplier<RequestJournal> journalFactory) {
+    this.journalFactory = journalFactory;
+  }
+
+  /**
+   * All requests are kept. This is the default policy.
+   *
+   * @return journal policy
+   */
+  public static JournalPolicy unbounded() {
+    return new JournalPolicy(UnboundedRequestJournal::new);
+  }
+
+  /**
+   * Only the last {@code capacity} requests are kept. Older requests are evicted and verification failures report how many of them were lost. Useful for
+   * long-running tests which execute a lot of requests.
+   *
+   * @param capacity maximal number of kept requests
+   * @return journal policy
+   */
+  public static JournalPolicy bounded(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Journal capacity must be positive, but was " + capacity);
+    }
+    return new JournalPolicy(() -> new BoundedRequestJournal(capacity));
+  }
+
+  /**
+   * No requests are kept, so requests can't be verified.
+   *
+   * @return journal policy
+   */
+  public static JournalPolicy disabled() {
+    return new JournalPolicy(DisabledRequestJournal::new);
+  }
+
+  /**
+   * Returns policy which keeps compact copies of requests instead of original requests. Copies contain request line, selected headers and at most {@code
+   * maxBodyBytes} of body. They don't keep references to original request, its entity or context, so conditions which use them (e.g. custom conditions
+   * reading cookies from context) can't be verified.
+   *
+   * @param maxBodyBytes maximal number of kept body bytes
+   * @param headers names of kept headers, all headers are kept if none are provided
+   * @return journal policy
+   */
+  public JournalPolicy withCompactEntries(int maxBodyBytes, String... headers) {
+    if (maxBodyBytes < 0) {
+      throw new IllegalArgumentException("Maximal body size can't be negative, but was " + maxBodyBytes);
+    }
+    Set<String> headerNames = Arrays.stream(headers)
+        .map(String::toLowerCase)
+        .collect(Collectors.toSet());
+    return new JournalPolicy(() -> new CompactRequestJournal(journalFactory.get(), maxBodyBytes, headerNames));
+  }
+
+  RequestJournal createJournal() {
+    return journalFactory.get();
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wakes up threads waiting for new requests in journal. Every added request increases generation counter. Waiting threads check their condition without
+ * holding lock and then wait until generation changes, so executing requests never waits for verification. Lock is taken on request execution only when
+ * some thread is waiting.
+ */
+class JournalSignal {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition requestAdded = lock.newCondition();
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  /**
+   * Must be called after request was added to journal.
+   */
+  void requestAdded() {
+    generation.incrementAndGet();
+    if (waiting.get() > 0) {
+      lock.lock();
+      try {
+        requestAdded.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Waits until provided condition is satisfied. Condition is checked at the beginning and after every request added to journal.
+   *
+   * @return true if condition was satisfied, false if timeout elapsed
+   */
+  boolean await(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    waiting.incrementAndGet();
+    try {
+      while (true) {
+        long checkedGeneration = generation.get();
+        if (condition.getAsBoolean()) {
+          return true;
+        }
+        long nanos = deadline - System.nanoTime();
+        if (nanos <= 0) {
+          return false;
+        }
+        awaitNextGeneration(checkedGeneration, nanos);
+      }
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+
+  private void awaitNextGeneration(long checkedGeneration, long nanos) throws InterruptedException {
+    lock.lock();
+    try {
+      while (generation.get() == checkedGeneration && nanos > 0) {
+        nanos = requestAdded.awaitNanos(nanos);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import org.hamcrest.Matcher;
+
+/**
+ * Verifies number of requests in journal matching a rule. When there are more candidate requests than the parallel verification threshold, they are matched
+ * in parallel, in the common fork-join pool.
+ * <p>When some requests were evicted from journal, actual number of matching calls is between number of found calls and that number increased by number
+ * of evicted requests. Verification passes only if expected number of calls matches both of them, otherwise its result is uncertain and it fails.
+ */
+class JournalVerifier {
+
+  static final int DEFAULT_PARALLEL_VERIFICATION_THRESHOLD = 100_000;
+
+  protected final RequestJournal journal;
+  protected final int parallelVerificationThreshold;
+  private final JournalSignal journalSignal;
+
+  JournalVerifier(RequestJournal journal, int parallelVerificationThreshold, JournalSignal journalSignal) {
+    this.journal = journal;
+    this.parallelVerificationThreshold = parallelVerificationThreshold;
+    this.journalSignal = journalSignal;
+  }
+
+  void verify(Rule rule, Matcher<Integer> numberOfCalls) {
+    checkJournalIsEnabled();
+    int matchingCalls = countMatching(rule);
+
+    String failure = check(numberOfCalls, matchingCalls);
+    if (failure != null) {
+      throw new IllegalStateException(failure);
+    }
+  }
+
+  /**
+   * Waits until number of requests matching rule satisfies matcher. Journal is checked again only when new request is added.
+   */
+  void await(Rule rule, Matcher<Integer> numberOfCalls, Duration timeout) {
+    checkJournalIsEnabled();
+    boolean satisfied;
+    try {
+      satisfied = journalSignal.await(() -> numberOfCalls.matches(countMatching(rule)), timeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for calls.", e);
+    }
+
+    int matchingCalls = countMatching(rule);
+    if (!satisfied) {
+      throw new IllegalStateException(String.format("Expected %s calls within %s ms, but found %s.", numberOfCalls, timeout.toMillis(), matchingCalls)
+          + evictionNote());
+    }
+    String failure = check(numberOfCalls, matchingCalls);
+    if (failure != null) {
+      throw new IllegalStateException(failure);
+    }
+  }
+
+  private int countMatching(Rule rule) {
+    return (int) countMatching(rule, journal.getCandidates(rule));
+  }
+
+  private long countMatching(Rule rule, Collection<Request> requests) {
+    if (requests.size() < parallelVerificationThreshold) {
+      return requests.stream()
+          .filter(rule::matches)
+          .count();
+    }
+    return Arrays.stream(requests.toArray(new Request[0]))
+        .parallel()
+        .filter(rule::matches)
+        .count();
+  }
+
+  protected void checkJournalIsEnabled() {
+    if (!journal.isEnabled()) {
+      throw new IllegalStateException("Request journal is disabled, so calls can't be verified.");
+    }
+  }
+
+  /**
+   * Checks number of matching calls, taking evicted requests into account.
+   *
+   * @return failure message or null if verification passed
+   */
+  protected String check(Matcher<Integer> numberOfCalls, int matchingCalls) {
+    if (!numberOfCalls.matches(matchingCalls)) {
+      return String.format("Expected %s calls, but found %s.", numberOfCalls, matchingCalls) + evictionNote();
+    }
+    long evicted = journal.getEvictedCount();
+    long maxMatchingCalls = Math.min(Integer.MAX_VALUE, matchingCalls + evicted);
+    if (evicted > 0 && !numberOfCalls.matches((int) maxMatchingCalls)) {
+      return String.format("Expected %s calls and found %s, but verification result is uncertain. Journal doesn't contain %s oldest requests, they were "
+          + "evicted, so there could be up to %s matching calls.", numberOfCalls, matchingCalls, evicted, maxMatchingCalls);
+    }
+    return null;
+  }
+
+  private String evictionNote() {
+    long evicted = journal.getEvictedCount();
+    return evicted > 0 ? String.format(" Journal doesn't contain %s oldest requests, they were evicted.", evicted) : "";
+  }
+}
@@ -0,0 +1,62 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import org.apache.http.NameValuePair;
+
+/**
+ * Request URL split into parts. It is parsed once per request and shared by all rules, so conditions don't need to parse URL again.
+ */
+public class ParsedUrl {
+
+  private final String protocol;
+  private final String host;
+  private final int port;
+  private final String path;
+  private final String query;
+  private final String reference;
+  private final List<NameValuePair> queryParameters;
+
+  private ParsedUrl(URL url) {
+    this.protocol = url.getProtocol();
+    this.host = url.getHost();
+    this.port = url.getPort();
+    this.path = url.getPath();
+    this.query = url.getQuery();
+    this.reference = url.getRef();
+    this.queryParameters = new UrlParamsParser().parse(query);
+  }
+
+  static ParsedUrl parse(String urlText) throws MalformedURLException {
+    return new ParsedUrl(new URL(urlText));
+  }
+
+  public String getProtocol() {
+    return protocol;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public String getReference() {
+    return reference;
+  }
+
+  public List<NameValuePair> getQueryParameters() {
+    return queryParameters;
+  }
+}
@@ -0,0 +1,56 @@
+package com.github.paweladamski.httpclientmock;
+
+import com.github.paweladamski.httpclientmock.action.Action;
+import com.github.paweladamski.httpclientmock.action.StatusWithEmptyEntityResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.HttpResponse;
+
+/**
+ * Token bucket limiting number of requests handled by a rule. It is implemented as generic cell rate algorithm: the whole bucket state is a single
+ * timestamp updated with compare-and-set, so it never blocks. Rejected requests get response with provided status and "Retry-After" header.
+ */
+class RateLimiter {
+
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final Action rejection;
+  private final AtomicLong theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+
+  RateLimiter(double requestsPerSecond, int burst, int rejectionStatus) {
+    if (requestsPerSecond <= 0 || burst <= 0) {
+      throw new IllegalArgumentException("Rate limit and burst must be positive");
+    }
+    this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+    this.burstNanos = intervalNanos * burst;
+    this.rejection = new StatusWithEmptyEntityResponse(rejectionStatus);
+  }
+
+  /**
+   * Takes token from bucket.
+   *
+   * @return 0 if request is allowed, otherwise time in nanoseconds after which the next token will be available
+   */
+  long tryAcquire() {
+    while (true) {
+      long now = System.nanoTime();
+      long current = theoreticalArrivalTime.get();
+      long next = (current - now > 0 ? current : now) + intervalNanos;
+      long allowedAt = next - burstNanos;
+      if (allowedAt - now > 0) {
+        return allowedAt - now;
+      }
+      if (theoreticalArrivalTime.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  HttpResponse rejection(Request request, long retryAfterNanos) throws IOException {
+    long retryAfterSeconds = (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    HttpResponse response = rejection.getResponse(request);
+    response.addHeader("Retry-After", Long.toString(retryAfterSeconds));
+    return response;
+  }
+}
@@ -0,0 +1,105 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.RequestLine;
+import org.apache.http.message.BasicHttpEntityEnclosingRequest;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.message.BasicRequestLine;
+
+/**
+ * Compact copy of executed request kept in journal. It contains request line, selected headers and the beginning of the body, but doesn't keep references to
+ * original request, its entity or context.
+ */
+public class RecordedRequest extends Request {
+
+  private final long timestamp;
+  private final boolean bodyTruncated;
+
+  private RecordedRequest(HttpHost httpHost, HttpRequest httpRequest, long timestamp, boolean bodyTruncated) {
+    super(httpHost, httpRequest, null);
+    this.timestamp = timestamp;
+    this.bodyTruncated = bodyTruncated;
+  }
+
+  /**
+   * Creates compact copy of request. Only copied bytes of body are read from request entity, and body is not read at all when no bytes are copied. Host name
+   * and URI without query are interned, because many requests usually share them, while query strings are mostly unique.
+   *
+   * @param request executed request
+   * @param maxBodyBytes maximal number of body bytes which are copied
+   * @param headers lower case names of copied headers, all headers are copied if empty
+   * @return compact copy of request
+   */
+  static RecordedRequest of(Request request, int maxBodyBytes, Set<String> headers) {
+    RequestLine requestLine = copyRequestLine(request.getHttpRequest().getRequestLine());
+    byte[] body = readBody(request, maxBodyBytes);
+    HttpRequest copy;
+    boolean bodyTruncated = false;
+    if (body != null) {
+      HttpEntity entity = ((HttpEntityEnclosingRequest) request.getHttpRequest()).getEntity();
+      bodyTruncated = body.length > maxBodyBytes || (maxBodyBytes == 0 && entity.getContentLength() != 0);
+      BasicHttpEntityEnclosingRequest entityRequest = new BasicHttpEntityEnclosingRequest(requestLine);
+      entityRequest.setEntity(RequestBody.copyEntity(entity, bodyTruncated ? Arrays.copyOf(body, maxBodyBytes) : body));
+      copy = entityRequest;
+    } else {
+      copy = new BasicHttpRequest(requestLine);
+    }
+    for (Header header : request.getHttpRequest().getAllHeaders()) {
+      if (headers.isEmpty() || headers.contains(header.getName().toLowerCase())) {
+        copy.addHeader(header);
+      }
+    }
+    return new RecordedRequest(copyHost(request.getHttpHost()), copy, System.currentTimeMillis(), bodyTruncated);
+  }
+
+  /**
+   * Reads one byte more than the limit, to find out whether body is truncated.
+   */
+  private static byte[] readBody(Request request, int maxBodyBytes) {
+    try {
+      if (maxBodyBytes == 0) {
+        return request.getBodyPrefix(0);
+      }
+      return request.getBodyPrefix(maxBodyBytes == Integer.MAX_VALUE ? maxBodyBytes : maxBodyBytes + 1);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static RequestLine copyRequestLine(RequestLine requestLine) {
+    String uri = requestLine.getUri();
+    return new BasicRequestLine(requestLine.getMethod().intern(), uri.indexOf('?') < 0 ? uri.intern() : uri, requestLine.getProtocolVersion());
+  }
+
+  private static HttpHost copyHost(HttpHost host) {
+    if (host == null) {
+      return null;
+    }
+    return new HttpHost(host.getHostName().intern(), host.getPort(), host.getSchemeName());
+  }
+
+  /**
+   * Returns time when request was executed, in milliseconds since epoch.
+   *
+   * @return request time
+   */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Returns true if request body was longer than the limit and only its beginning was kept. Body conditions are matched against the kept part only.
+   *
+   * @return true if body was truncated
+   */
+  public boolean isBodyTruncated() {
+    return bodyTruncated;
+  }
+}
@@ -0,0 +1,28 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Actions run once, when response to a request is released: closed, its body fully read, or not returned at all because of exception. Hooks are added by the
+ * thread executing request, before response is returned, and can be run by any thread.
+ */
+class ReleaseHooks {
+
+  private final List<Runnable> hooks = new ArrayList<>();
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  void add(Runnable hook) {
+    hooks.add(hook);
+  }
+
+  void release() {
+    if (released.compareAndSet(false, true)) {
+      for (Runnable hook : hooks) {
+        hook.run();
+      }
+      hooks.clear();
+    }
+  }
+}
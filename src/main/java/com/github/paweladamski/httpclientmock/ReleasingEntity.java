@@ -0,0 +1,62 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.conn.EofSensorInputStream;
+import org.apache.http.conn.EofSensorWatcher;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Entity which releases response when its content is read to the end or its stream is closed, the same way as HttpClient releases connection.
+ */
+class ReleasingEntity extends HttpEntityWrapper implements EofSensorWatcher {
+
+  private final ReleaseHooks releaseHooks;
+
+  ReleasingEntity(HttpEntity entity, ReleaseHooks releaseHooks) {
+    super(entity);
+    this.releaseHooks = releaseHooks;
+  }
+
+  @Override
+  public InputStream getContent() throws IOException {
+    return new EofSensorInputStream(wrappedEntity.getContent(), this);
+  }
+
+  @Override
+  public void writeTo(OutputStream outStream) throws IOException {
+    try {
+      wrappedEntity.writeTo(outStream);
+    } finally {
+      releaseHooks.release();
+    }
+  }
+
+  /**
+   * Response entity is always streaming, like entities of real responses, so {@link org.apache.http.util.EntityUtils#consume(HttpEntity)} releases it.
+   */
+  @Override
+  public boolean isStreaming() {
+    return true;
+  }
+
+  @Override
+  public boolean eofDetected(InputStream wrapped) {
+    releaseHooks.release();
+    return true;
+  }
+
+  @Override
+  public boolean streamClosed(InputStream wrapped) {
+    releaseHooks.release();
+    return true;
+  }
+
+  @Override
+  public boolean streamAbort(InputStream wrapped) {
+    releaseHooks.release();
+    return true;
+  }
+}
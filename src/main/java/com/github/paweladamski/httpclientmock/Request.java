@@ -1,15 +1,27 @@
 package com.github.paweladamski.httpclientmock;
 
+import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URI;
+import java.util.Optional;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.protocol.HttpContext;
 
+/**
+ * Request executed by mock. Request is shared by the thread executing it and threads verifying journal, so URL and body are parsed in a thread-safe way:
+ * URL parsing is idempotent and body is read only once, under lock.
+ */
 public class Request {
 
   private final HttpHost httpHost;
   private final HttpRequest httpRequest;
   private final HttpContext httpContext;
+  private volatile String uri;
+  private volatile Optional<ParsedUrl> parsedUrl;
+  private volatile Optional<RequestBody> body;
+  private ReleaseHooks releaseHooks;
 
   public Request(HttpHost httpHost, HttpRequest httpRequest, HttpContext httpContext) {
 
@@ -31,6 +43,85 @@ public class Request {
   }
 
   public String getUri() {
+    String result = uri;
+    if (result == null) {
+      result = buildUri();
+      uri = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns parsed request URL or empty optional if URL is malformed. URL is parsed only once, during first call.
+   *
+   * @return parsed request URL
+   */
+  public Optional<ParsedUrl> getParsedUrl() {
+    Optional<ParsedUrl> result = parsedUrl;
+    if (result == null) {
+      result = parseUrl();
+      parsedUrl = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns request body or empty optional if request has no entity. Entity is read only once, during first call. Not repeatable entity is replaced in
+   * original request with a buffered copy, so it can still be read by other code.
+   *
+   * @return request body
+   * @throws IOException when entity can't be read
+   */
+  public Optional<RequestBody> getBody() throws IOException {
+    Optional<RequestBody> result = body;
+    if (result == null) {
+      synchronized (this) {
+        result = body;
+        if (result == null) {
+          result = readBody();
+          body = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns at most {@code maxBytes} first bytes of body or null if request has no entity. Body which was already read is reused, otherwise only returned
+   * bytes are read from entity, so the whole body is not buffered.
+   */
+  byte[] getBodyPrefix(int maxBytes) throws IOException {
+    synchronized (this) {
+      Optional<RequestBody> result = body;
+      if (result != null) {
+        return result.map(requestBody -> requestBody.getPrefix(maxBytes)).orElse(null);
+      }
+      HttpEntityEnclosingRequest entityRequest = getEntityRequest();
+      if (entityRequest == null) {
+        return null;
+      }
+      return RequestBody.readPrefix(entityRequest, maxBytes);
+    }
+  }
+
+  /**
+   * Adds action run once, when response to this request is released.
+   */
+  void addReleaseHook(Runnable hook) {
+    if (releaseHooks == null) {
+      releaseHooks = new ReleaseHooks();
+    }
+    releaseHooks.add(hook);
+  }
+
+  /**
+   * Returns actions run when response to this request is released or null if there are none.
+   */
+  ReleaseHooks getReleaseHooks() {
+    return releaseHooks;
+  }
+
+  private String buildUri() {
     URI uri = URI.create(httpRequest.getRequestLine().getUri());
     String urlText;
     if (uri.isAbsolute()) {
@@ -41,4 +132,28 @@ public class Request {
     return urlText;
   }
 
+  private Optional<RequestBody> readBody() throws IOException {
+    HttpEntityEnclosingRequest entityRequest = getEntityRequest();
+    if (entityRequest == null) {
+      return Optional.empty();
+    }
+    return Optional.of(RequestBody.read(entityRequest));
+  }
+
+  private HttpEntityEnclosingRequest getEntityRequest() {
+    if (!(httpRequest instanceof HttpEntityEnclosingRequest)) {
+      return null;
+    }
+    HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) httpRequest;
+    return entityRequest.getEntity() != null ? entityRequest : null;
+  }
+
+  private Optional<ParsedUrl> parseUrl() {
+    try {
+      return Optional.of(ParsedUrl.parse(getUri()));
+    } catch (MalformedURLException e) {
+      return Optional.empty();
+    }
+  }
+
 }
@@ -0,0 +1,136 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Request body read once into memory. All conditions share it, so request entity is read only once even if it is not repeatable. Decoded content is cached;
+ * concurrent first calls may decode it more than once, but always from the same bytes.
+ */
+public class RequestBody {
+
+  private static final byte[] EMPTY_CONTENT = new byte[0];
+  private static final int BUFFER_SIZE = 4096;
+
+  private final byte[] bytes;
+  private final HttpEntity entity;
+  private volatile String content;
+  private volatile List<NameValuePair> formParameters;
+
+  private RequestBody(byte[] bytes, HttpEntity entity) {
+    this.bytes = bytes;
+    this.entity = entity;
+  }
+
+  static RequestBody read(HttpEntityEnclosingRequest request) throws IOException {
+    HttpEntity original = request.getEntity();
+    byte[] content = EntityUtils.toByteArray(original);
+    byte[] bytes = content != null ? content : EMPTY_CONTENT;
+    HttpEntity buffered = copyEntity(original, bytes);
+    if (!original.isRepeatable()) {
+      request.setEntity(buffered);
+    }
+    return new RequestBody(bytes, buffered);
+  }
+
+  /**
+   * Reads at most {@code maxBytes} first bytes of request entity without buffering the rest. Not repeatable entity is replaced in request with an entity
+   * which returns the read bytes followed by the rest of original content. Entity is not touched when no bytes are requested.
+   */
+  static byte[] readPrefix(HttpEntityEnclosingRequest request, int maxBytes) throws IOException {
+    if (maxBytes == 0) {
+      return EMPTY_CONTENT;
+    }
+    HttpEntity original = request.getEntity();
+    InputStream content = original.getContent();
+    if (content == null) {
+      return EMPTY_CONTENT;
+    }
+    ByteArrayOutputStream prefix = new ByteArrayOutputStream(Math.min(maxBytes, BUFFER_SIZE));
+    byte[] buffer = new byte[Math.min(maxBytes, BUFFER_SIZE)];
+    boolean endOfStream = false;
+    while (prefix.size() < maxBytes && !endOfStream) {
+      int read = content.read(buffer, 0, Math.min(buffer.length, maxBytes - prefix.size()));
+      if (read == -1) {
+        endOfStream = true;
+      } else {
+        prefix.write(buffer, 0, read);
+      }
+    }
+    byte[] bytes = prefix.toByteArray();
+    if (original.isRepeatable()) {
+      content.close();
+    } else if (endOfStream) {
+      content.close();
+      request.setEntity(copyEntity(original, bytes));
+    } else {
+      request.setEntity(prependedEntity(original, bytes, content));
+    }
+    return bytes;
+  }
+
+  static HttpEntity copyEntity(HttpEntity original, byte[] bytes) {
+    ByteArrayEntity copy = new ByteArrayEntity(bytes);
+    copy.setContentType(original.getContentType());
+    copy.setContentEncoding(original.getContentEncoding());
+    copy.setChunked(original.isChunked());
+    return copy;
+  }
+
+  private static HttpEntity prependedEntity(HttpEntity original, byte[] prefix, InputStream rest) {
+    InputStreamEntity copy = new InputStreamEntity(new SequenceInputStream(new ByteArrayInputStream(prefix), rest), original.getContentLength());
+    copy.setContentType(original.getContentType());
+    copy.setContentEncoding(original.getContentEncoding());
+    copy.setChunked(original.isChunked());
+    return copy;
+  }
+
+  /**
+   * Returns at most {@code maxBytes} first bytes of body.
+   */
+  byte[] getPrefix(int maxBytes) {
+    return bytes.length > maxBytes ? Arrays.copyOf(bytes, maxBytes) : bytes;
+  }
+
+  /**
+   * Returns body decoded using charset from request content type (ISO-8859-1 if not provided).
+   *
+   * @return request body
+   * @throws IOException when body can't be decoded
+   */
+  public String getContent() throws IOException {
+    String result = content;
+    if (result == null) {
+      result = EntityUtils.toString(entity);
+      content = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns URL-encoded form parameters. List is empty if request content type is not "application/x-www-form-urlencoded".
+   *
+   * @return form parameters
+   * @throws IOException when body can't be decoded
+   */
+  public List<NameValuePair> getFormParameters() throws IOException {
+    List<NameValuePair> result = formParameters;
+    if (result == null) {
+      result = URLEncodedUtils.parse(entity);
+      formParameters = result;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,33 @@
+package com.github.paweladamski.httpclientmock;
+
+import java.util.Collection;
+
+/**
+ * Stores requests executed by mock, so they can be verified later.
+ */
+interface RequestJournal {
+
+  void add(Request request);
+
+  /**
+   * Returns requests currently stored in journal, oldest first.
+   */
+  Collection<Request> getRequests();
+
+  /**
+   * Returns requests which can match provided rule, oldest first. Journal may use its indexes to skip requests which surely don't match, but returned
+   * requests still have to be matched against the rule.
+   */
+  default Collection<Request> getCandidates(Rule rule) {
+    return getRequests();
+  }
+
+  /**
+   * Returns number of requests which were removed from journal to make room for newer ones.
+   */
+  long getEvictedCount();
+
+  boolean isEnabled();
+
+  void clear();
+}
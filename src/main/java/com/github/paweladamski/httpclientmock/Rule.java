@@ -8,8 +8,10 @@ import com.github.paweladamski.httpclientmock.action.StatusWithEmptyEntityRespon
 import com.github.paweladamski.httpclientmock.condition.Condition;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
@@ -18,20 +20,47 @@ import org.apache.http.protocol.HttpContext;
 public class Rule {
 
   public static final Rule NOT_FOUND = new Rule(new UrlConditions(), emptyList(), notFoundAction());
-  private final LinkedList<Action> actions;
+  private final String method;
+  private final Action[] actions;
+  private final SequencePolicy sequencePolicy;
+  private final AtomicInteger nextAction = new AtomicInteger();
   private final List<Condition> conditions;
+  private final List<Condition> conditionsByCost;
   private final UrlConditions urlConditions;
+  private final RateLimiter rateLimiter;
+  private final ConcurrencyLimiter concurrencyLimiter;
 
   public Rule(UrlConditions urlConditions, List<Condition> conditions, List<Action> actions) {
+    this(null, urlConditions, conditions, actions, SequencePolicy.STICK_ON_LAST, null, null);
+  }
+
+  Rule(String method, UrlConditions urlConditions, List<Condition> conditions, List<Action> actions, SequencePolicy sequencePolicy,
+      RateLimiter rateLimiter, ConcurrencyLimiter concurrencyLimiter) {
+    this.method = method;
     this.urlConditions = urlConditions;
     this.conditions = conditions;
-    this.actions = new LinkedList<>(actions);
+    this.conditionsByCost = orderByCost(urlConditions, conditions);
+    this.actions = actions.toArray(new Action[0]);
+    this.sequencePolicy = sequencePolicy;
+    this.rateLimiter = rateLimiter;
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  String getMethod() {
+    return method;
+  }
+
+  Optional<Endpoint> getExactEndpoint() {
+    return urlConditions.getExactEndpoint();
   }
 
   boolean matches(Request request) {
-    return urlConditions.matches(request.getUri())
-        && conditions.stream()
-        .allMatch(c -> c.matches(request));
+    for (Condition condition : conditionsByCost) {
+      if (!condition.matches(request)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   boolean matches(HttpHost httpHost, HttpRequest httpRequest, HttpContext httpContext) {
@@ -39,10 +68,64 @@ public class Rule {
   }
 
   HttpResponse nextResponse(Request request) throws IOException {
-    Action action = (actions.size() > 1) ? actions.poll() : actions.peek();
+    if (rateLimiter != null) {
+      long retryAfterNanos = rateLimiter.tryAcquire();
+      if (retryAfterNanos > 0) {
+        return rateLimiter.rejection(request, retryAfterNanos);
+      }
+    }
+    if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire(request)) {
+      return concurrencyLimiter.rejection(request);
+    }
+    Action action = actions[nextActionIndex()];
     return action.getResponse(request);
   }
 
+  private int nextActionIndex() {
+    switch (sequencePolicy) {
+      case CYCLE:
+        return nextCyclicActionIndex();
+      case FAIL_WHEN_EXHAUSTED:
+        return nextNotExhaustedActionIndex();
+      default:
+        return nextOrLastActionIndex();
+    }
+  }
+
+  private int nextOrLastActionIndex() {
+    int last = actions.length - 1;
+    while (true) {
+      int current = nextAction.get();
+      if (current >= last) {
+        return last;
+      }
+      if (nextAction.compareAndSet(current, current + 1)) {
+        return current;
+      }
+    }
+  }
+
+  private int nextCyclicActionIndex() {
+    while (true) {
+      int current = nextAction.get();
+      if (nextAction.compareAndSet(current, (current + 1) % actions.length)) {
+        return current;
+      }
+    }
+  }
+
+  private int nextNotExhaustedActionIndex() {
+    while (true) {
+      int current = nextAction.get();
+      if (current >= actions.length) {
+        throw new IllegalStateException(String.format("All %s actions defined in rule were already used.", actions.length));
+      }
+      if (nextAction.compareAndSet(current, current + 1)) {
+        return current;
+      }
+    }
+  }
+
   public void debug(Request request, Debugger debugger) {
     for (Condition condition : conditions) {
       condition.debug(request, debugger);
@@ -50,6 +133,14 @@ public class Rule {
     urlConditions.debug(request, debugger);
   }
 
+  private static List<Condition> orderByCost(UrlConditions urlConditions, List<Condition> conditions) {
+    List<Condition> ordered = new ArrayList<>(conditions);
+    ordered.add(urlConditions.locationCondition());
+    ordered.add(urlConditions.queryCondition());
+    ordered.sort(Comparator.comparing(Condition::getCost));
+    return ordered;
+  }
+
   private static List<Action> notFoundAction() {
     ArrayList<Action> actions = new ArrayList<>();
     actions.add(new StatusWithEmptyEntityResponse(SC_NOT_FOUND));
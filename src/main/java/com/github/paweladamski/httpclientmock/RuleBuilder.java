@@ -7,16 +7,22 @@ import com.github.paweladamski.httpclientmock.condition.UrlEncodedFormCondition;
 import com.github.paweladamski.httpclientmock.matchers.ParametersMatcher;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.hamcrest.Matcher;
 
 class RuleBuilder {
 
+  private final String method;
   private final List<Action> actions = new ArrayList<>();
   private final List<Condition> conditions = new ArrayList<>();
   private final UrlEncodedFormCondition formParametersCondition = new UrlEncodedFormCondition();
   private final UrlConditions urlConditions;
+  private SequencePolicy sequencePolicy = SequencePolicy.STICK_ON_LAST;
+  private RateLimiter rateLimiter;
+  private ConcurrencyLimiter concurrencyLimiter;
 
   RuleBuilder(String method, String defaultHost, String url) {
+    this.method = method;
     this.urlConditions = new UrlParser().parse(buildFinalUrl(defaultHost, url));
     addCondition(new HttpMethodCondition(method));
     addCondition(formParametersCondition);
@@ -25,6 +31,7 @@ class RuleBuilder {
   }
 
   RuleBuilder(String method) {
+    this.method = method;
     this.urlConditions = new UrlConditions();
     addCondition(new HttpMethodCondition(method));
     addCondition(formParametersCondition);
@@ -66,7 +73,13 @@ class RuleBuilder {
 
   void addHostCondition(String host) {
     UrlParser urlParser = new UrlParser();
-    urlConditions.setHostConditions(urlParser.parse(host).getHostConditions());
+    UrlConditions hostUrl = urlParser.parse(host);
+    Optional<Endpoint> endpoint = urlConditions.getExactEndpoint();
+    urlConditions.setHostConditions(hostUrl.getHostConditions());
+    if (endpoint.isPresent()) {
+      String exactHost = hostUrl.getExactEndpoint().get().getHost();
+      urlConditions.setExactEndpoint(endpoint.get().withHost(exactHost));
+    }
   }
 
   void addPathCondition(Matcher<String> matcher) {
@@ -82,7 +95,19 @@ class RuleBuilder {
   }
 
   Rule toRule() {
-    return new Rule(urlConditions, conditions, actions);
+    return new Rule(method, urlConditions, conditions, actions, sequencePolicy, rateLimiter, concurrencyLimiter);
+  }
+
+  void setSequencePolicy(SequencePolicy sequencePolicy) {
+    this.sequencePolicy = sequencePolicy;
+  }
+
+  void setRateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
   }
 
   public void setAllowExtraParameters(boolean allowExtraParameters) {
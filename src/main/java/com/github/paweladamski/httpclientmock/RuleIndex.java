@@ -0,0 +1,56 @@
+package com.github.paweladamski.httpclientmock;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rules defined for one HTTP method. Rules created from literal URL are indexed by their endpoint, so only rules which can match request endpoint are
+ * evaluated. Remaining rules (e.g. with custom host or path matchers) are always evaluated.
+ */
+class RuleIndex {
+
+  private final List<Rule> rules = new ArrayList<>();
+  private final Map<Endpoint, List<Integer>> rulesByEndpoint = new HashMap<>();
+  private final List<Integer> notIndexedRules = new ArrayList<>();
+
+  void add(Rule rule) {
+    int position = rules.size();
+    rules.add(rule);
+    Optional<Endpoint> endpoint = rule.getExactEndpoint();
+    if (endpoint.isPresent()) {
+      rulesByEndpoint.computeIfAbsent(endpoint.get(), e -> new ArrayList<>()).add(position);
+    } else {
+      notIndexedRules.add(position);
+    }
+  }
+
+  /**
+   * Finds last defined rule matching request. Candidates from the index and not indexed rules are merged by their definition order, newest first.
+   */
+  Rule findLastMatching(Request request) {
+    List<Integer> indexed = request.getParsedUrl()
+        .map(Endpoint::of)
+        .map(rulesByEndpoint::get)
+        .orElse(emptyList());
+    int i = indexed.size() - 1;
+    int j = notIndexedRules.size() - 1;
+    while (i >= 0 || j >= 0) {
+      int position;
+      if (j < 0 || (i >= 0 && indexed.get(i) > notIndexedRules.get(j))) {
+        position = indexed.get(i--);
+      } else {
+        position = notIndexedRules.get(j--);
+      }
+      Rule rule = rules.get(position);
+      if (rule.matches(request)) {
+        return rule;
+      }
+    }
+    return Rule.NOT_FOUND;
+  }
+}
@@ -0,0 +1,43 @@
+package com.github.paweladamski.httpclientmock;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of all rules defined in mock. New rules are added by creating a new table, so requests can be matched concurrently without locking.
+ */
+class RuleTable {
+
+  static final RuleTable EMPTY = new RuleTable(emptyList());
+
+  private final List<Rule> rules;
+  private final Map<String, RuleIndex> rulesByMethod = new HashMap<>();
+
+  private RuleTable(List<Rule> rules) {
+    this.rules = unmodifiableList(rules);
+    for (Rule rule : rules) {
+      rulesByMethod.computeIfAbsent(rule.getMethod(), m -> new RuleIndex()).add(rule);
+    }
+  }
+
+  RuleTable withRules(List<Rule> newRules) {
+    List<Rule> allRules = new ArrayList<>(rules);
+    allRules.addAll(newRules);
+    return new RuleTable(allRules);
+  }
+
+  List<Rule> getRules() {
+    return rules;
+  }
+
+  Rule findLastMatching(Request request) {
+    String method = request.getHttpRequest().getRequestLine().getMethod();
+    RuleIndex candidates = rulesByMethod.get(method);
+    return candidates != null ? candidates.findLastMatching(request) : Rule.NOT_FOUND;
+  }
+}
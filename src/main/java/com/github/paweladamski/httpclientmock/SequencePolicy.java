@@ -0,0 +1,22 @@
+package com.github.paweladamski.httpclientmock;
+
+/**
+ * Defines how rule with multiple actions behaves after all of its actions were used.
+ */
+public enum SequencePolicy {
+
+  /**
+   * Every next request uses the last action. This is the default policy.
+   */
+  STICK_ON_LAST,
+
+  /**
+   * Sequence starts again from the first action.
+   */
+  CYCLE,
+
+  /**
+   * Every next request fails with {@link IllegalStateException}.
+   */
+  FAIL_WHEN_EXHAUSTED
+}
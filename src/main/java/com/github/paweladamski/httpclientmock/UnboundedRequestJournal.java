@@ -0,0 +1,87 @@
+package com.github.paweladamski.httpclientmock;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Journal keeping all requests. Requests are indexed by HTTP method and endpoint when they are added, so verification of rule with literal URL checks only
+ * requests sent to the same endpoint.
+ */
+class UnboundedRequestJournal implements RequestJournal {
+
+  private final Collection<Request> requests;
+  private final boolean indexed;
+  private final Map<String, Queue<Request>> requestsByMethod = new ConcurrentHashMap<>();
+  private final Map<String, Map<Endpoint, Queue<Request>>> requestsByEndpoint = new ConcurrentHashMap<>();
+
+  UnboundedRequestJournal() {
+    this.requests = new ConcurrentLinkedQueue<>();
+    this.indexed = true;
+  }
+
+  /**
+   * Creates journal backed by provided collection. Requests added directly to the collection are not indexed, so this journal doesn't use indexes at all.
+   */
+  UnboundedRequestJournal(Collection<Request> requests) {
+    this.requests = requests;
+    this.indexed = false;
+  }
+
+  @Override
+  public void add(Request request) {
+    requests.add(request);
+    if (indexed) {
+      String method = request.getHttpRequest().getRequestLine().getMethod();
+      requestsByMethod.computeIfAbsent(method, m -> new ConcurrentLinkedQueue<>()).add(request);
+      request.getParsedUrl().ifPresent(url -> requestsByEndpoint
+          .computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+          .computeIfAbsent(Endpoint.of(url), e -> new ConcurrentLinkedQueue<>())
+          .add(request));
+    }
+  }
+
+  @Override
+  public Collection<Request> getRequests() {
+    return requests;
+  }
+
+  @Override
+  public Collection<Request> getCandidates(Rule rule) {
+    String method = rule.getMethod();
+    if (!indexed || method == null) {
+      return requests;
+    }
+    Optional<Endpoint> endpoint = rule.getExactEndpoint();
+    Collection<Request> candidates;
+    if (endpoint.isPresent()) {
+      candidates = requestsByEndpoint.getOrDefault(method, emptyMap()).get(endpoint.get());
+    } else {
+      candidates = requestsByMethod.get(method);
+    }
+    return candidates != null ? candidates : emptyList();
+  }
+
+  @Override
+  public long getEvictedCount() {
+    return 0;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    requests.clear();
+    requestsByMethod.clear();
+    requestsByEndpoint.clear();
+  }
+}
@@ -2,10 +2,12 @@ package com.github.paweladamski.httpclientmock;
 
 import static org.hamcrest.Matchers.isEmptyOrNullString;
 
+import com.github.paweladamski.httpclientmock.condition.Condition;
+import com.github.paweladamski.httpclientmock.condition.ConditionCost;
 import com.github.paweladamski.httpclientmock.matchers.MatchersList;
 import com.github.paweladamski.httpclientmock.matchers.UrlQueryMatcher;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.util.Optional;
+import java.util.function.Predicate;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.hamcrest.StringDescription;
@@ -19,6 +21,7 @@ public class UrlConditions {
   private MatchersList<String> pathConditions = new MatchersList<>();
   private MatchersList<Integer> portConditions = new MatchersList<>();
   private Matcher<String> schemaConditions = Matchers.any(String.class);
+  private Endpoint exactEndpoint;
 
   public UrlQueryMatcher getUrlQueryConditions() {
     return urlQueryConditions;
@@ -38,6 +41,7 @@ public class UrlConditions {
 
   public void setHostConditions(MatchersList<String> hostConditions) {
     this.hostConditions = hostConditions;
+    this.exactEndpoint = null;
   }
 
   public MatchersList<String> getPathConditions() {
@@ -52,37 +56,53 @@ public class UrlConditions {
     this.schemaConditions = schemaConditions;
   }
 
-  boolean matches(String urlText) {
-    try {
-      URL url = new URL(urlText);
+  /**
+   * Returns endpoint which request must be sent to, if host, port and path conditions were created from literal URL.
+   */
+  Optional<Endpoint> getExactEndpoint() {
+    return Optional.ofNullable(exactEndpoint);
+  }
 
-      return hostConditions.allMatches(url.getHost())
-          && pathConditions.allMatches(url.getPath())
-          && portConditions.allMatches(url.getPort())
-          && referenceConditions.matches(url.getRef())
-          && schemaConditions.matches(url.getProtocol())
-          && urlQueryConditions.matches(url.getQuery());
+  void setExactEndpoint(Endpoint exactEndpoint) {
+    this.exactEndpoint = exactEndpoint;
+  }
 
-    } catch (MalformedURLException e) {
-      return false;
-    }
+  Condition locationCondition() {
+    return new UrlPartCondition(ConditionCost.LOCATION, this::matchesLocation);
+  }
+
+  Condition queryCondition() {
+    return new UrlPartCondition(ConditionCost.QUERY, this::matchesQuery);
+  }
+
+  private boolean matchesLocation(ParsedUrl url) {
+    return hostConditions.allMatches(url.getHost())
+        && pathConditions.allMatches(url.getPath())
+        && portConditions.allMatches(url.getPort())
+        && referenceConditions.matches(url.getReference())
+        && schemaConditions.matches(url.getProtocol());
+  }
+
+  private boolean matchesQuery(ParsedUrl url) {
+    return urlQueryConditions.matches(url.getQueryParameters());
   }
 
 
   void debug(Request request, Debugger debugger) {
-    try {
-      URL url = new URL(request.getUri());
-      debugger.message(hostConditions.allMatches(url.getHost()), "schema is " + describe(schemaConditions));
-      debugger.message(hostConditions.allMatches(url.getHost()), "host is " + hostConditions.describe());
-      debugger.message(pathConditions.allMatches(url.getPath()), "path is " + pathConditions.describe());
-      debugger.message(portConditions.allMatches(url.getPort()), "port is " + portDebugDescription());
-      if (referenceConditions != isEmptyOrNullString() || !referenceConditions.matches(url.getRef())) {
-        debugger.message(referenceConditions.matches(url.getRef()), "reference is " + describe(referenceConditions));
-      }
-      urlQueryConditions.describe(url.getQuery(), debugger);
-    } catch (MalformedURLException e) {
+    Optional<ParsedUrl> parsedUrl = request.getParsedUrl();
+    if (!parsedUrl.isPresent()) {
       System.out.println("Can't parse URL: " + request.getUri());
+      return;
+    }
+    ParsedUrl url = parsedUrl.get();
+    debugger.message(hostConditions.allMatches(url.getHost()), "schema is " + describe(schemaConditions));
+    debugger.message(hostConditions.allMatches(url.getHost()), "host is " + hostConditions.describe());
+    debugger.message(pathConditions.allMatches(url.getPath()), "path is " + pathConditions.describe());
+    debugger.message(portConditions.allMatches(url.getPort()), "port is " + portDebugDescription());
+    if (referenceConditions != isEmptyOrNullString() || !referenceConditions.matches(url.getReference())) {
+      debugger.message(referenceConditions.matches(url.getReference()), "reference is " + describe(referenceConditions));
     }
+    urlQueryConditions.describe(url.getQueryParameters(), debugger);
   }
 
   private String describe(Matcher<String> matcher) {
@@ -92,4 +112,27 @@ public class UrlConditions {
   private String portDebugDescription() {
     return portConditions.allMatches(EMPTY_PORT) ? "empty" : portConditions.describe();
   }
+
+  private static class UrlPartCondition implements Condition {
+
+    private final ConditionCost cost;
+    private final Predicate<ParsedUrl> predicate;
+
+    UrlPartCondition(ConditionCost cost, Predicate<ParsedUrl> predicate) {
+      this.cost = cost;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean matches(Request request) {
+      return request.getParsedUrl()
+          .map(predicate::test)
+          .orElse(false);
+    }
+
+    @Override
+    public ConditionCost getCost() {
+      return cost;
+    }
+  }
 }
@@ -26,6 +26,7 @@ public class UrlParser {
       conditions.getHostConditions().add(equalTo(url.getHost()));
       conditions.getPortConditions().add(equalTo(url.getPort()));
       conditions.getPathConditions().add(equalTo(url.getPath()));
+      conditions.setExactEndpoint(new Endpoint(url.getHost(), url.getPort(), url.getPath()));
       List<NameValuePair> params = new UrlParamsParser().parse(url.getQuery(), StandardCharsets.UTF_8);
       for (NameValuePair param : params) {
         conditions.getUrlQueryConditions().put(param.getName(), equalTo(param.getValue()));
@@ -0,0 +1,89 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+/**
+ * Limits speed of reading response body of parent action. Body is delivered in small chunks, each one at the time it would arrive over a link with
+ * provided bandwidth. Optionally the first byte is delayed, to emulate server which needs time before it starts sending body.
+ */
+public class BandwidthAction extends EntityStreamAction {
+
+  private static final int CHUNKS_PER_SECOND = 20;
+
+  private final long bytesPerSecond;
+  private final long timeToFirstByteNanos;
+
+  public BandwidthAction(Action parentAction, long bytesPerSecond) {
+    this(parentAction, bytesPerSecond, Duration.ZERO);
+  }
+
+  public BandwidthAction(Action parentAction, long bytesPerSecond, Duration timeToFirstByte) {
+    super(parentAction);
+    if (bytesPerSecond <= 0) {
+      throw new IllegalArgumentException("Bandwidth must be positive");
+    }
+    this.bytesPerSecond = bytesPerSecond;
+    this.timeToFirstByteNanos = timeToFirstByte.toNanos();
+  }
+
+  @Override
+  InputStream wrap(InputStream content) {
+    return new ThrottledInputStream(content);
+  }
+
+  private class ThrottledInputStream extends FilterInputStream {
+
+    private final int chunkSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytesPerSecond / CHUNKS_PER_SECOND));
+    private long startNanos = -1;
+    private long bytesRead;
+
+    ThrottledInputStream(InputStream content) {
+      super(content);
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      int read = read(single, 0, 1);
+      return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (startNanos < 0) {
+        Delays.sleep(timeToFirstByteNanos);
+        startNanos = System.nanoTime();
+      }
+      int read = in.read(bytes, offset, Math.min(length, chunkSize));
+      if (read > 0) {
+        bytesRead += read;
+        long dueNanos = startNanos + (long) (bytesRead * 1_000_000_000.0 / bytesPerSecond);
+        Delays.sleep(dueNanos - System.nanoTime());
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0) {
+        return 0;
+      }
+      byte[] skipped = new byte[(int) Math.min(n, chunkSize)];
+      int read = read(skipped, 0, skipped.length);
+      return Math.max(0, read);
+    }
+
+    @Override
+    public int available() throws IOException {
+      return Math.min(in.available(), chunkSize);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Makes reading response body of parent action fail with provided exception, after some bytes were read or after some time since reading started. Body
+ * always fails, even if it ends earlier: then read at its end fails instead of reporting end of stream, and when failure is defined by time it first blocks
+ * until that time, like a connection which stalled. Every failing stream gets new exception from provided supplier.
+ */
+public class BodyFailureAction extends EntityStreamAction {
+
+  private final long failAfterBytes;
+  private final long failAfterNanos;
+  private final Supplier<? extends IOException> exceptionSupplier;
+
+  private BodyFailureAction(Action parentAction, long failAfterBytes, long failAfterNanos, Supplier<? extends IOException> exceptionSupplier) {
+    super(parentAction);
+    this.failAfterBytes = failAfterBytes;
+    this.failAfterNanos = failAfterNanos;
+    this.exceptionSupplier = exceptionSupplier;
+  }
+
+  public static BodyFailureAction afterBytes(Action parentAction, long bytes, Supplier<? extends IOException> exceptionSupplier) {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Number of bytes must not be negative");
+    }
+    return new BodyFailureAction(parentAction, bytes, -1, exceptionSupplier);
+  }
+
+  public static BodyFailureAction afterDelay(Action parentAction, Duration delay, Supplier<? extends IOException> exceptionSupplier) {
+    if (delay.isNegative()) {
+      throw new IllegalArgumentException("Delay must not be negative");
+    }
+    return new BodyFailureAction(parentAction, -1, delay.toNanos(), exceptionSupplier);
+  }
+
+  @Override
+  InputStream wrap(InputStream content) {
+    return new FailingInputStream(content);
+  }
+
+  private class FailingInputStream extends FilterInputStream {
+
+    private final long failureNanos = System.nanoTime() + failAfterNanos;
+    private long bytesRead;
+    private IOException exception;
+
+    FailingInputStream(InputStream content) {
+      super(content);
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      int read = read(single, 0, 1);
+      return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      if (failAfterBytes >= 0) {
+        return readUntilBytes(bytes, offset, length);
+      }
+      return readUntilTime(bytes, offset, length);
+    }
+
+    private int readUntilBytes(byte[] bytes, int offset, int length) throws IOException {
+      long remaining = failAfterBytes - bytesRead;
+      if (remaining <= 0) {
+        throw failure();
+      }
+      int read = in.read(bytes, offset, (int) Math.min(length, remaining));
+      if (read == -1) {
+        throw failure();
+      }
+      bytesRead += read;
+      return read;
+    }
+
+    private int readUntilTime(byte[] bytes, int offset, int length) throws IOException {
+      if (System.nanoTime() - failureNanos >= 0) {
+        throw failure();
+      }
+      int read = in.read(bytes, offset, length);
+      if (read == -1) {
+        Delays.sleep(failureNanos - System.nanoTime());
+        throw failure();
+      }
+      return read;
+    }
+
+    private IOException failure() {
+      if (exception == null) {
+        exception = exceptionSupplier.get();
+      }
+      return exception;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0) {
+        return 0;
+      }
+      byte[] skipped = new byte[(int) Math.min(n, 8192)];
+      int read = read(skipped, 0, skipped.length);
+      return Math.max(0, read);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+}
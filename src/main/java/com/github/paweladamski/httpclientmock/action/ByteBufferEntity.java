@@ -0,0 +1,94 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import org.apache.http.entity.AbstractHttpEntity;
+
+/**
+ * Repeatable entity backed by a byte buffer. Buffer is never modified, every content stream reads its own view of it, so entity can be shared by many
+ * responses.
+ */
+class ByteBufferEntity extends AbstractHttpEntity {
+
+  private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+  private final ByteBuffer buffer;
+
+  ByteBufferEntity(ByteBuffer buffer, String contentType) {
+    this.buffer = buffer;
+    setContentType(contentType);
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return true;
+  }
+
+  @Override
+  public long getContentLength() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public InputStream getContent() {
+    return new ByteBufferInputStream(buffer.duplicate());
+  }
+
+  @Override
+  public void writeTo(OutputStream outStream) throws IOException {
+    ByteBuffer content = buffer.duplicate();
+    byte[] chunk = new byte[Math.min(OUTPUT_BUFFER_SIZE, content.remaining())];
+    while (content.hasRemaining()) {
+      int length = Math.min(chunk.length, content.remaining());
+      content.get(chunk, 0, length);
+      outStream.write(chunk, 0, length);
+    }
+    outStream.flush();
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return false;
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
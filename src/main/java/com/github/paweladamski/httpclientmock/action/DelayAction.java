@@ -0,0 +1,25 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import com.github.paweladamski.httpclientmock.Request;
+import java.io.IOException;
+import org.apache.http.HttpResponse;
+
+/**
+ * Delays response of parent action. Calling thread sleeps without holding any lock, so other requests are not blocked.
+ */
+public class DelayAction implements Action {
+
+  private final Action parentAction;
+  private final Latency latency;
+
+  public DelayAction(Action parentAction, Latency latency) {
+    this.parentAction = parentAction;
+    this.latency = latency;
+  }
+
+  @Override
+  public HttpResponse getResponse(Request r) throws IOException {
+    Delays.sleep(latency.next().toNanos());
+    return parentAction.getResponse(r);
+  }
+}
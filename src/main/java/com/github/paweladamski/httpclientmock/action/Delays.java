@@ -0,0 +1,25 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sleeping used to emulate slow server. Thread sleeps without holding any lock. Interrupting sleeping thread results in {@link InterruptedIOException}, the
+ * same way as interrupting real blocking I/O.
+ */
+final class Delays {
+
+  private Delays() {
+  }
+
+  static void sleep(long nanos) throws InterruptedIOException {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException exception = new InterruptedIOException("Interrupted while emulating slow server");
+      exception.initCause(e);
+      throw exception;
+    }
+  }
+}
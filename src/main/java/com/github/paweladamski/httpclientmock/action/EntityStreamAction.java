@@ -0,0 +1,68 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import com.github.paweladamski.httpclientmock.Request;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Base of actions which change how body of parent action response is read. Every content stream of the response entity is wrapped, so entity stays
+ * repeatable if the original one was.
+ */
+abstract class EntityStreamAction implements Action {
+
+  private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+  private final Action parentAction;
+
+  EntityStreamAction(Action parentAction) {
+    this.parentAction = parentAction;
+  }
+
+  @Override
+  public HttpResponse getResponse(Request r) throws IOException {
+    HttpResponse response = parentAction.getResponse(r);
+    HttpEntity entity = response.getEntity();
+    if (entity != null) {
+      response.setEntity(new WrappedStreamEntity(entity));
+    }
+    return response;
+  }
+
+  /**
+   * Wraps stream with content of response body.
+   */
+  abstract InputStream wrap(InputStream content);
+
+  private class WrappedStreamEntity extends HttpEntityWrapper {
+
+    WrappedStreamEntity(HttpEntity entity) {
+      super(entity);
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+      return wrap(wrappedEntity.getContent());
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+      try (InputStream content = getContent()) {
+        byte[] chunk = new byte[OUTPUT_BUFFER_SIZE];
+        int length;
+        while ((length = content.read(chunk)) != -1) {
+          outStream.write(chunk, 0, length);
+        }
+      }
+      outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+      return true;
+    }
+  }
+}
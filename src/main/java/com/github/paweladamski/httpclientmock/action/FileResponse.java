@@ -0,0 +1,68 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import com.github.paweladamski.httpclientmock.Request;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * Returns response with body read from file. File is memory-mapped during first call, so its content is not copied to heap. All responses share the same
+ * mapping. Files larger than 2 GB are streamed from disk instead.
+ */
+public class FileResponse implements Action {
+
+  private static final ProtocolVersion HTTP_1_1 = new ProtocolVersion("http", 1, 1);
+
+  private final int statusCode;
+  private final Path path;
+  private final ContentType contentType;
+  private volatile HttpEntity entity;
+
+  public FileResponse(Path path, ContentType contentType) {
+    this(200, path, contentType);
+  }
+
+  public FileResponse(int statusCode, Path path, ContentType contentType) {
+    this.statusCode = statusCode;
+    this.path = path;
+    this.contentType = contentType;
+  }
+
+  @Override
+  public HttpResponse getResponse(Request request) throws IOException {
+    BasicHttpResponse response = new BasicHttpResponse(HTTP_1_1, statusCode, "ok");
+    response.setEntity(getEntity());
+    response.addHeader("Content-type", contentType.toString());
+    return response;
+  }
+
+  private HttpEntity getEntity() throws IOException {
+    HttpEntity result = entity;
+    if (result == null) {
+      // Concurrent first calls may map the file more than once, but all mappings have the same content.
+      result = createEntity();
+      entity = result;
+    }
+    return result;
+  }
+
+  private HttpEntity createEntity() throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        return new FileEntity(path.toFile(), contentType);
+      }
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+      return new ByteBufferEntity(buffer, contentType.toString());
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Creates new stream with response body. It is called every time body is read, so each call must return stream positioned at the beginning of the body.
+ */
+@FunctionalInterface
+public interface InputStreamSupplier {
+
+  InputStream get() throws IOException;
+}
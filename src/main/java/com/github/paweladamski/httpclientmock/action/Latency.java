@@ -0,0 +1,50 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.time.Duration;
+
+/**
+ * Distribution of response delays. Implementations must be thread-safe, because mock can be called from many threads at once.
+ */
+@FunctionalInterface
+public interface Latency {
+
+  /**
+   * Returns delay of the next response.
+   *
+   * @return delay
+   */
+  Duration next();
+
+  /**
+   * Creates latency which is always equal to provided delay.
+   *
+   * @param delay delay of every response
+   * @return latency
+   */
+  static Latency fixed(Duration delay) {
+    return () -> delay;
+  }
+
+  /**
+   * Creates latency uniformly distributed between provided values.
+   *
+   * @param min minimal delay
+   * @param max maximal delay
+   * @return latency
+   */
+  static Latency uniform(Duration min, Duration max) {
+    return new UniformLatency(min, max);
+  }
+
+  /**
+   * Creates latency distributed according to provided percentile. More percentiles can be added using
+   * {@link PercentileLatency#percentile(double, Duration)}, e.g. <code>Latency.percentile(50, ofMillis(20)).percentile(99, ofMillis(500))</code>.
+   *
+   * @param percentile percentile from 0 to 100
+   * @param delay delay at provided percentile
+   * @return latency
+   */
+  static PercentileLatency percentile(double percentile, Duration delay) {
+    return new PercentileLatency().percentile(percentile, delay);
+  }
+}
@@ -0,0 +1,68 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency described by its percentiles. Delays between defined percentiles are interpolated linearly. Delays below the lowest defined percentile are equal
+ * to its delay and the same applies to delays above the highest percentile. Instances are immutable.
+ */
+public class PercentileLatency implements Latency {
+
+  private final double[] percentiles;
+  private final long[] delays;
+
+  PercentileLatency() {
+    this(new double[0], new long[0]);
+  }
+
+  private PercentileLatency(double[] percentiles, long[] delays) {
+    this.percentiles = percentiles;
+    this.delays = delays;
+  }
+
+  /**
+   * Returns new latency with additional percentile. Percentiles must be added in increasing order and delays must not decrease.
+   *
+   * @param percentile percentile from 0 to 100
+   * @param delay delay at provided percentile
+   * @return latency
+   */
+  public PercentileLatency percentile(double percentile, Duration delay) {
+    int size = percentiles.length;
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    if (size > 0 && (percentile <= percentiles[size - 1] || delay.toNanos() < delays[size - 1])) {
+      throw new IllegalArgumentException("Percentiles must be increasing and delays must not decrease");
+    }
+    double[] newPercentiles = Arrays.copyOf(percentiles, size + 1);
+    long[] newDelays = Arrays.copyOf(delays, size + 1);
+    newPercentiles[size] = percentile;
+    newDelays[size] = delay.toNanos();
+    return new PercentileLatency(newPercentiles, newDelays);
+  }
+
+  @Override
+  public Duration next() {
+    return Duration.ofNanos(delayAt(ThreadLocalRandom.current().nextDouble(100)));
+  }
+
+  long delayAt(double percentile) {
+    int last = percentiles.length - 1;
+    if (percentile <= percentiles[0]) {
+      return delays[0];
+    }
+    if (percentile >= percentiles[last]) {
+      return delays[last];
+    }
+    int upper = 1;
+    while (percentiles[upper] < percentile) {
+      upper++;
+    }
+    int lower = upper - 1;
+    double fraction = (percentile - percentiles[lower]) / (percentiles[upper] - percentiles[lower]);
+    return delays[lower] + Math.round(fraction * (delays[upper] - delays[lower]));
+  }
+}
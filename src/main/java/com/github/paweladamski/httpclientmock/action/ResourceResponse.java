@@ -0,0 +1,67 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import com.github.paweladamski.httpclientmock.Request;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Returns response with body read from classpath resource. Resource is never copied to heap: resource from a directory is memory-mapped like
+ * {@link FileResponse}, other resources (e.g. from jar) are streamed every time body is read. Resource body has unknown length if it can't be determined
+ * when rule is defined.
+ */
+public class ResourceResponse implements Action {
+
+  private final Action response;
+
+  public ResourceResponse(String resourceName, ContentType contentType) {
+    this(200, resourceName, contentType);
+  }
+
+  public ResourceResponse(int statusCode, String resourceName, ContentType contentType) {
+    URL resource = findResource(resourceName);
+    if ("file".equals(resource.getProtocol())) {
+      this.response = new FileResponse(statusCode, toPath(resource), contentType);
+    } else {
+      this.response = new StreamResponse(statusCode, resource::openStream, contentLength(resource), contentType);
+    }
+  }
+
+  @Override
+  public HttpResponse getResponse(Request request) throws IOException {
+    return response.getResponse(request);
+  }
+
+  private static URL findResource(String resourceName) {
+    String name = resourceName.startsWith("/") ? resourceName.substring(1) : resourceName;
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    URL resource = classLoader != null ? classLoader.getResource(name) : null;
+    if (resource == null) {
+      resource = ResourceResponse.class.getClassLoader().getResource(name);
+    }
+    if (resource == null) {
+      throw new IllegalArgumentException(String.format("Resource %s not found", resourceName));
+    }
+    return resource;
+  }
+
+  private static Path toPath(URL resource) {
+    try {
+      return Paths.get(resource.toURI());
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException(String.format("Resource %s has invalid URL", resource), e);
+    }
+  }
+
+  private static long contentLength(URL resource) {
+    try {
+      return resource.openConnection().getContentLengthLong();
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import com.github.paweladamski.httpclientmock.Request;
+import org.apache.http.HttpResponse;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * Returns response with body read from streams created by provided supplier. Body is never loaded to memory, so it can be much bigger than heap. When
+ * length is negative, body has unknown length and is chunked.
+ */
+public class StreamResponse implements Action {
+
+  private static final ProtocolVersion HTTP_1_1 = new ProtocolVersion("http", 1, 1);
+
+  private final int statusCode;
+  private final String contentType;
+  private final SuppliedStreamEntity entity;
+
+  public StreamResponse(InputStreamSupplier supplier, long length, ContentType contentType) {
+    this(200, supplier, length, contentType);
+  }
+
+  public StreamResponse(int statusCode, InputStreamSupplier supplier, long length, ContentType contentType) {
+    this.statusCode = statusCode;
+    this.contentType = contentType.toString();
+    this.entity = new SuppliedStreamEntity(supplier, length, this.contentType);
+  }
+
+  @Override
+  public HttpResponse getResponse(Request request) {
+    BasicHttpResponse response = new BasicHttpResponse(HTTP_1_1, statusCode, "ok");
+    response.setEntity(entity);
+    response.addHeader("Content-type", contentType);
+    return response;
+  }
+}
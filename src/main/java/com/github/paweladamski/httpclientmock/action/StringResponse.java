@@ -1,19 +1,25 @@
 package com.github.paweladamski.httpclientmock.action;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
 import com.github.paweladamski.httpclientmock.Request;
 import java.nio.charset.Charset;
 import org.apache.http.HttpResponse;
 import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHttpResponse;
 
+/**
+ * Returns response with string body. Body is encoded once, when action is created, and every response shares the same repeatable entity.
+ */
 public class StringResponse implements Action {
 
+  private static final ProtocolVersion HTTP_1_1 = new ProtocolVersion("http", 1, 1);
+
   private final int statusCode;
-  private final String response;
-  private final Charset charset;
-  private final ContentType contentType;
+  private final String contentType;
+  private final ByteArrayEntity entity;
 
   public StringResponse(String response, Charset charset) {
     this(200, response, charset);
@@ -28,19 +34,20 @@ public class StringResponse implements Action {
   }
 
   public StringResponse(int statusCode, String response, Charset charset, ContentType contentType) {
+    if (response == null) {
+      throw new IllegalArgumentException("Response body may not be null");
+    }
     this.statusCode = statusCode;
-    this.response = response;
-    this.charset = charset;
-    this.contentType = contentType;
+    this.contentType = contentType.toString();
+    this.entity = new ByteArrayEntity(response.getBytes(charset != null ? charset : ISO_8859_1));
+    this.entity.setContentType(this.contentType);
   }
 
   @Override
   public HttpResponse getResponse(Request request) {
-    BasicHttpResponse response = new BasicHttpResponse(new ProtocolVersion("http", 1, 1), statusCode, "ok");
-    StringEntity entity = new StringEntity(this.response, this.charset);
-    entity.setContentType(contentType.toString());
+    BasicHttpResponse response = new BasicHttpResponse(HTTP_1_1, statusCode, "ok");
     response.setEntity(entity);
-    response.addHeader("Content-type", contentType.toString());
+    response.addHeader("Content-type", contentType);
     return response;
   }
 }
@@ -0,0 +1,57 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.http.entity.AbstractHttpEntity;
+
+/**
+ * Streaming entity which reads its content from a new stream every time, so it is repeatable and can be shared by many responses. Content is never
+ * buffered in memory.
+ */
+class SuppliedStreamEntity extends AbstractHttpEntity {
+
+  private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+  private final InputStreamSupplier supplier;
+  private final long length;
+
+  SuppliedStreamEntity(InputStreamSupplier supplier, long length, String contentType) {
+    this.supplier = supplier;
+    this.length = length;
+    setContentType(contentType);
+    setChunked(length < 0);
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return true;
+  }
+
+  @Override
+  public long getContentLength() {
+    return length;
+  }
+
+  @Override
+  public InputStream getContent() throws IOException {
+    return supplier.get();
+  }
+
+  @Override
+  public void writeTo(OutputStream outStream) throws IOException {
+    try (InputStream content = supplier.get()) {
+      byte[] chunk = new byte[OUTPUT_BUFFER_SIZE];
+      int length;
+      while ((length = content.read(chunk)) != -1) {
+        outStream.write(chunk, 0, length);
+      }
+    }
+    outStream.flush();
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return true;
+  }
+}
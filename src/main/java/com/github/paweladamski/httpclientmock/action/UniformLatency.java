@@ -0,0 +1,26 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+class UniformLatency implements Latency {
+
+  private final long minNanos;
+  private final long maxNanos;
+
+  UniformLatency(Duration min, Duration max) {
+    if (min.compareTo(max) > 0) {
+      throw new IllegalArgumentException("Minimal delay must not be greater than maximal delay");
+    }
+    this.minNanos = min.toNanos();
+    this.maxNanos = max.toNanos();
+  }
+
+  @Override
+  public Duration next() {
+    if (minNanos == maxNanos) {
+      return Duration.ofNanos(minNanos);
+    }
+    return Duration.ofNanos(ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1));
+  }
+}
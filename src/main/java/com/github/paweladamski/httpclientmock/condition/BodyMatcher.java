@@ -2,11 +2,9 @@ package com.github.paweladamski.httpclientmock.condition;
 
 import com.github.paweladamski.httpclientmock.Debugger;
 import com.github.paweladamski.httpclientmock.Request;
+import com.github.paweladamski.httpclientmock.RequestBody;
 import java.io.IOException;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpEntityEnclosingRequest;
-import org.apache.http.HttpRequest;
-import org.apache.http.util.EntityUtils;
+import java.util.Optional;
 import org.hamcrest.Matcher;
 
 public class BodyMatcher implements Condition {
@@ -19,25 +17,24 @@ public class BodyMatcher implements Condition {
 
   @Override
   public boolean matches(Request request) {
-    HttpRequest httpRequest = request.getHttpRequest();
-    if (!(httpRequest instanceof HttpEntityEnclosingRequest)) {
-      return false;
-    }
-    
-    HttpEntity entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
-    if (entity == null) {
-      return false;
-    }
-    
     String message;
     try {
-      message = EntityUtils.toString(entity);
+      Optional<RequestBody> body = request.getBody();
+      if (!body.isPresent()) {
+        return false;
+      }
+      message = body.get().getContent();
     } catch (IOException e) {
       return false;
     }
     return matcher.matches(message);
   }
 
+  @Override
+  public ConditionCost getCost() {
+    return ConditionCost.BODY;
+  }
+
   @Override
   public void debug(Request request, Debugger debugger) {
     debugger.message(matches(request), "body matches");
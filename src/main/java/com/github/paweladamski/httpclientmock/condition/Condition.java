@@ -14,6 +14,15 @@ public interface Condition {
 
   boolean matches(Request request);
 
+  /**
+   * Returns relative cost of evaluating this condition. Custom conditions are treated as the most expensive ones by default.
+   *
+   * @return condition cost
+   */
+  default ConditionCost getCost() {
+    return ConditionCost.CUSTOM;
+  }
+
   default void debug(Request request, Debugger debugger) {
     debugger.message(matches(request), getClass().getSimpleName());
   }
@@ -0,0 +1,15 @@
+package com.github.paweladamski.httpclientmock.condition;
+
+/**
+ * Relative cost of evaluating a condition. Rules evaluate cheaper conditions first, so requests aimed at a different endpoint are rejected before
+ * expensive conditions like body matching are run.
+ */
+public enum ConditionCost {
+  METHOD,
+  LOCATION,
+  HEADER,
+  QUERY,
+  FORM,
+  BODY,
+  CUSTOM
+}
@@ -21,6 +21,11 @@ public class HeaderCondition implements Condition {
         value.matches(request.getHttpRequest().getFirstHeader(header).getValue());
   }
 
+  @Override
+  public ConditionCost getCost() {
+    return ConditionCost.HEADER;
+  }
+
   @Override
   public void debug(Request request, Debugger debugger) {
     String matcherDesc = StringDescription.toString(value);
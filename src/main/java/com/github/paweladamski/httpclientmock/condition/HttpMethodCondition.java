@@ -16,6 +16,11 @@ public class HttpMethodCondition implements Condition {
     return request.getHttpRequest().getRequestLine().getMethod().equals(method);
   }
 
+  @Override
+  public ConditionCost getCost() {
+    return ConditionCost.METHOD;
+  }
+
   @Override
   public void debug(Request request, Debugger debugger) {
     debugger.message(matches(request), "HTTP method is " + method);
@@ -47,6 +47,11 @@ public class UrlEncodedFormCondition implements Condition {
     expectedParameters.putAll(parameters);
   }
 
+  @Override
+  public ConditionCost getCost() {
+    return ConditionCost.FORM;
+  }
+
   @Override
   public void debug(Request r, Debugger debugger) {
     List<NameValuePair> actual = new UrlEncodedFormParser().parse(r);
@@ -1,40 +1,30 @@
 package com.github.paweladamski.httpclientmock.condition;
 
 import com.github.paweladamski.httpclientmock.Request;
+import com.github.paweladamski.httpclientmock.RequestBody;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpEntityEnclosingRequest;
+import java.util.Optional;
 import org.apache.http.NameValuePair;
-import org.apache.http.client.utils.URLEncodedUtils;
 
 public class UrlEncodedFormParser {
 
   List<NameValuePair> parse(Request request) {
-    if (!requestHasBody(request)) {
-      return Collections.emptyList();
-    }
-
-    HttpEntityEnclosingRequest httpRequest = (HttpEntityEnclosingRequest) request.getHttpRequest();
-    HttpEntity entity = httpRequest.getEntity();
-    if (entity == null) {
-      return Collections.emptyList();
-    }
-
     try {
+      Optional<RequestBody> body = request.getBody();
+      if (!body.isPresent()) {
+        return Collections.emptyList();
+      }
+
       /*
        * The method below returns an empty list if the Content-Type of the
        * request is not "application/x-www-form-urlencoded". So, requests with
        * other kinds of data in the body will correctly be ignored here.
        */
-      return URLEncodedUtils.parse(entity);
+      return body.get().getFormParameters();
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
-
-  private boolean requestHasBody(Request r) {
-    return (r.getHttpRequest() instanceof HttpEntityEnclosingRequest);
-  }
 }
@@ -13,7 +13,10 @@ public class UrlQueryMatcher {
   private boolean allowExtraParameters;
 
   public boolean matches(String query) {
-    List<NameValuePair> actualParameters = new UrlParamsParser().parse(query);
+    return matches(new UrlParamsParser().parse(query));
+  }
+
+  public boolean matches(List<NameValuePair> actualParameters) {
     if (allowExtraParameters) {
       return expected.matchesAndAllowExtraParameters(actualParameters);
     } else {
@@ -26,7 +29,10 @@ public class UrlQueryMatcher {
   }
 
   public void describe(String query, Debugger debugger) {
-    List<NameValuePair> actualParameters = new UrlParamsParser().parse(query);
+    describe(new UrlParamsParser().parse(query), debugger);
+  }
+
+  public void describe(List<NameValuePair> actualParameters, Debugger debugger) {
     Set<String> missingParams = expected.findMissingParameters(actualParameters);
     for (String param : missingParams) {
       debugger.message(false, "query parameter " + param + " is missing from the request");
@@ -5,15 +5,18 @@ import static com.github.paweladamski.httpclientmock.matchers.HttpResponseMatche
 import static com.github.paweladamski.httpclientmock.matchers.HttpResponseMatchers.hasStatus;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 
 import com.github.paweladamski.httpclientmock.condition.Condition;
 import com.github.paweladamski.httpclientmock.matchers.ParametersMatcher;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -21,7 +24,9 @@ import org.apache.http.client.methods.HttpOptions;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
@@ -198,6 +203,24 @@ public class HttpClientMockBuilderTest {
     assertThat(badLogin, hasStatus(500));
   }
 
+  @Test
+  public void checkBodyOfNotRepeatableEntity() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost:8080");
+
+    httpClientMock.onPost("/login").withBody(containsString("foo"))
+        .doReturnStatus(200);
+    httpClientMock.onPost("/login").withBody(containsString("bar"))
+        .doReturnStatus(500);
+
+    HttpPost post = new HttpPost("http://localhost:8080/login");
+    post.setEntity(new InputStreamEntity(new ByteArrayInputStream("foo".getBytes())));
+    HttpResponse correctLogin = httpClientMock.execute(post);
+
+    assertThat(correctLogin, hasStatus(200));
+    assertThat(EntityUtils.toString(post.getEntity()), equalTo("foo"));
+    httpClientMock.verify().post("/login").withBody(containsString("foo")).called();
+  }
+
   @Test
   public void when_url_contains_parameter_it_should_be_added_us_a_separate_condition() throws IOException {
     HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
@@ -581,6 +604,52 @@ public class HttpClientMockBuilderTest {
     assertThat(response, hasStatus(404));
   }
 
+  @Test
+  public void should_reject_requests_over_rate_limit() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.onGet("/foo").withRateLimit(0.1, 2).doReturn("first").doReturn("second");
+
+    HttpResponse first = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    HttpResponse second = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    HttpResponse rejected = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    assertThat(first, hasContent("first"));
+    assertThat(second, hasContent("second"));
+    assertThat(rejected, hasStatus(429));
+    assertThat(Integer.parseInt(rejected.getFirstHeader("Retry-After").getValue()), Matchers.lessThanOrEqualTo(10));
+    assertThat(Integer.parseInt(rejected.getFirstHeader("Retry-After").getValue()), Matchers.greaterThanOrEqualTo(9));
+  }
+
+  @Test
+  public void should_reject_requests_over_concurrency_limit_until_responses_are_released() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.onGet("/foo").withMaxConcurrentCalls(1).doReturn("foo");
+
+    CloseableHttpResponse first = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    HttpResponse rejected = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    first.close();
+    HttpResponse second = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    EntityUtils.toString(second.getEntity());
+    HttpResponse third = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    assertThat(first, hasStatus(200));
+    assertThat(rejected, hasStatus(503));
+    assertThat(second, hasStatus(200));
+    assertThat(third, hasContent("foo"));
+  }
+
+  @Test
+  public void should_release_concurrency_limit_when_response_entity_is_consumed() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.onGet("/foo").withMaxConcurrentCalls(1).doReturn("foo");
+
+    HttpResponse first = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    EntityUtils.consume(first.getEntity());
+    HttpResponse second = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    assertThat(second, hasContent("foo"));
+  }
+
   @Test
   public void should_work_with_non_absolute_uri() throws IOException {
     HttpClientMock httpClientMock = new HttpClientMock();
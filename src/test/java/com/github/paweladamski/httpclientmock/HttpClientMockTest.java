@@ -1,12 +1,30 @@
 package com.github.paweladamski.httpclientmock;
 
+import static com.github.paweladamski.httpclientmock.matchers.HttpResponseMatchers.hasContent;
 import static com.github.paweladamski.httpclientmock.matchers.HttpResponseMatchers.hasStatus;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class HttpClientMockTest {
@@ -31,4 +49,150 @@ public class HttpClientMockTest {
     assertThat(ok.getFirstHeader("foo").getValue(), equalTo("bar"));
   }
 
+  @Test
+  public void should_not_evaluate_rules_defined_for_other_methods() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock();
+    AtomicInteger postConditionCalls = new AtomicInteger();
+    httpClientMock.onPost().with(request -> postConditionCalls.incrementAndGet() > 0).doReturn("post");
+    httpClientMock.onGet().doReturn("get");
+
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost"));
+
+    assertThat(response, hasStatus(200));
+    assertThat(postConditionCalls.get(), equalTo(0));
+  }
+
+  @Test
+  public void should_use_last_matching_rule_without_evaluating_older_rules() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock();
+    AtomicInteger olderRuleConditionCalls = new AtomicInteger();
+    httpClientMock.onGet().with(request -> olderRuleConditionCalls.incrementAndGet() > 0).doReturn("first");
+    httpClientMock.onGet().doReturn("second");
+    httpClientMock.onGet().withHeader("foo", "bar").doReturn("third");
+
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost"));
+
+    assertThat(response, hasContent("second"));
+    assertThat(olderRuleConditionCalls.get(), equalTo(0));
+  }
+
+  @Test
+  public void should_evaluate_cheaper_conditions_first() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock();
+    AtomicInteger customConditionCalls = new AtomicInteger();
+    httpClientMock.onGet().doReturn("default");
+    httpClientMock.onGet()
+        .with(request -> customConditionCalls.incrementAndGet() > 0)
+        .withHeader("foo", "bar")
+        .doReturn("ok");
+
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost"));
+
+    assertThat(response, hasContent("default"));
+    assertThat(customConditionCalls.get(), equalTo(0));
+  }
+
+  @Test
+  public void should_keep_definition_order_of_rules_with_literal_and_custom_urls() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.onGet("/login").doReturn("literal login");
+    httpClientMock.onGet().withPath(containsString("log")).doReturn("custom");
+    httpClientMock.onGet("/logout").doReturn("literal logout");
+    httpClientMock.onGet("/login").withHost("http://example.com").doReturn("example login");
+
+    assertThat(httpClientMock.execute(new HttpGet("http://localhost/login")), hasContent("custom"));
+    assertThat(httpClientMock.execute(new HttpGet("http://localhost/logout")), hasContent("literal logout"));
+    assertThat(httpClientMock.execute(new HttpGet("http://localhost/catalog")), hasContent("custom"));
+    assertThat(httpClientMock.execute(new HttpGet("http://example.com/login")), hasContent("example login"));
+    assertThat(httpClientMock.execute(new HttpGet("http://example.com/logout")), hasContent("custom"));
+  }
+
+  @Test
+  public void should_handle_concurrent_requests() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.onGet("/login").doReturn("first").doReturn("second").doReturn("next");
+    int numberOfRequests = 2000;
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    List<Future<String>> responses = new ArrayList<>();
+    for (int i = 0; i < numberOfRequests; i++) {
+      responses.add(executor.submit(() -> EntityUtils.toString(httpClientMock.execute(new HttpGet("http://localhost/login")).getEntity())));
+    }
+    Map<String, Integer> responseCounts = new HashMap<>();
+    for (Future<String> response : responses) {
+      responseCounts.merge(response.get(), 1, Integer::sum);
+    }
+    executor.shutdown();
+
+    assertThat(responseCounts.get("first"), equalTo(1));
+    assertThat(responseCounts.get("second"), equalTo(1));
+    assertThat(responseCounts.get("next"), equalTo(numberOfRequests - 2));
+    httpClientMock.verify().get("/login").called(numberOfRequests);
+  }
+
+  @Test
+  public void should_lease_connections_from_emulated_pool_until_responses_are_released() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock();
+    EmulatedConnectionPool pool = new EmulatedConnectionPool(2, 1, Duration.ofMillis(50));
+    httpClientMock.setConnectionPool(pool);
+    httpClientMock.onGet().doReturn("ok");
+
+    CloseableHttpResponse notClosed = httpClientMock.execute(new HttpGet("http://first/foo"));
+    ConnectionPoolTimeoutException exception = Assertions.assertThrows(ConnectionPoolTimeoutException.class,
+        () -> httpClientMock.execute(new HttpGet("http://first/foo")));
+    HttpResponse read = httpClientMock.execute(new HttpGet("http://second/foo"));
+    EntityUtils.toString(read.getEntity());
+
+    assertThat(exception.getMessage(), containsString("route leased: 1"));
+    assertThat(pool.getTotalStats().getLeased(), equalTo(1));
+    assertThat(pool.getStats(new HttpRoute(new HttpHost("first", 80))).getLeased(), equalTo(1));
+    assertThat(pool.getStats(new HttpRoute(new HttpHost("second", 80))).getAvailable(), equalTo(1));
+    assertThat(httpClientMock.getConnectionPool(), equalTo(pool));
+
+    notClosed.close();
+
+    assertThat(pool.getTotalStats().getLeased(), equalTo(0));
+    assertThat(httpClientMock.execute(new HttpGet("http://first/foo")), hasStatus(200));
+  }
+
+  @Test
+  public void should_close_only_connections_idle_longer_than_provided_time() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock();
+    EmulatedConnectionPool pool = new EmulatedConnectionPool(2, 1, Duration.ofMillis(50));
+    httpClientMock.setConnectionPool(pool);
+    httpClientMock.onGet().doReturn("ok");
+
+    httpClientMock.execute(new HttpGet("http://first/foo")).close();
+    Thread.sleep(200);
+    httpClientMock.execute(new HttpGet("http://second/foo")).close();
+
+    pool.closeIdleConnections(1, TimeUnit.HOURS);
+    assertThat(pool.getTotalStats().getAvailable(), equalTo(2));
+
+    pool.closeIdleConnections(100, TimeUnit.MILLISECONDS);
+    assertThat(pool.getStats(new HttpRoute(new HttpHost("first", 80))).getAvailable(), equalTo(0));
+    assertThat(pool.getStats(new HttpRoute(new HttpHost("second", 80))).getAvailable(), equalTo(1));
+
+    pool.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+    assertThat(pool.getTotalStats().getAvailable(), equalTo(0));
+  }
+
+  @Test
+  public void should_fail_to_lease_connection_after_pool_shutdown() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock();
+    EmulatedConnectionPool pool = new EmulatedConnectionPool(2, 1, Duration.ofMillis(50));
+    httpClientMock.setConnectionPool(pool);
+    httpClientMock.onGet().doReturn("ok");
+
+    CloseableHttpResponse leased = httpClientMock.execute(new HttpGet("http://first/foo"));
+    pool.shutdown();
+    leased.close();
+
+    IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+        () -> httpClientMock.execute(new HttpGet("http://first/foo")));
+    assertThat(exception.getMessage(), equalTo("Connection pool shut down"));
+    assertThat(pool.getTotalStats().getLeased(), equalTo(0));
+    assertThat(pool.getTotalStats().getAvailable(), equalTo(0));
+  }
+
 }
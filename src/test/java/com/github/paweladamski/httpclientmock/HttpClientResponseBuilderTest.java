@@ -13,16 +13,27 @@ import static org.apache.http.entity.ContentType.APPLICATION_JSON;
 import static org.apache.http.entity.ContentType.APPLICATION_XML;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import com.github.paweladamski.httpclientmock.action.Action;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.apache.http.ConnectionClosedException;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
@@ -36,6 +47,7 @@ import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicNameValuePair;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class HttpClientResponseBuilderTest {
 
@@ -81,6 +93,245 @@ public class HttpClientResponseBuilderTest {
 
   }
 
+  @Test
+  public void should_return_the_same_body_many_times() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/foo").doReturn("zażółć", StandardCharsets.UTF_8, APPLICATION_JSON);
+
+    HttpResponse response1 = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    HttpResponse response2 = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    assertThat(response1, hasContent("zażółć", "UTF-8"));
+    assertThat(response2, hasContent("zażółć", "UTF-8"));
+    assertThat(response2, hasContent("zażółć", "UTF-8"));
+    assertEquals(APPLICATION_JSON.toString(), response2.getEntity().getContentType().getValue());
+    assertEquals("zażółć".getBytes(StandardCharsets.UTF_8).length, response2.getEntity().getContentLength());
+  }
+
+  @Test
+  public void should_return_file_content(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("export.csv");
+    Files.write(file, "id,name\n1,john\n".getBytes(StandardCharsets.UTF_8));
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/export").doReturnFile(file, ContentType.create("text/csv", StandardCharsets.UTF_8));
+
+    HttpResponse response1 = httpClientMock.execute(new HttpGet("http://localhost/export"));
+    HttpResponse response2 = httpClientMock.execute(new HttpGet("http://localhost/export"));
+
+    assertThat(response1, hasContent("id,name\n1,john\n"));
+    assertThat(response2, hasContent("id,name\n1,john\n"));
+    assertEquals(15, response2.getEntity().getContentLength());
+    assertEquals("text/csv; charset=UTF-8", response2.getEntity().getContentType().getValue());
+  }
+
+  @Test
+  public void should_return_classpath_resource_content() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/users").doReturnResource("users.json", APPLICATION_JSON);
+
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost/users"));
+
+    assertThat(response, hasContent("{\"users\":[\"john\",\"ben\"]}\n"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> httpClientMock.onGet("/missing").doReturnResource("missing.json"));
+  }
+
+  @Test
+  public void should_stream_classpath_resource_from_jar(@TempDir Path directory) throws Exception {
+    Path jar = directory.resolve("fixtures.jar");
+    try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+      output.putNextEntry(new JarEntry("fixtures/export.csv"));
+      output.write("id,name\n1,john\n".getBytes(StandardCharsets.UTF_8));
+    }
+    ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+      Thread.currentThread().setContextClassLoader(classLoader);
+      HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+      httpClientMock.onGet("/export").doReturnResource("fixtures/export.csv");
+
+      HttpResponse response1 = httpClientMock.execute(new HttpGet("http://localhost/export"));
+      HttpResponse response2 = httpClientMock.execute(new HttpGet("http://localhost/export"));
+
+      assertThat(response1, hasContent("id,name\n1,john\n"));
+      assertThat(response2, hasContent("id,name\n1,john\n"));
+      assertEquals(15, response2.getEntity().getContentLength());
+    } finally {
+      Thread.currentThread().setContextClassLoader(originalClassLoader);
+    }
+  }
+
+  @Test
+  public void should_return_streamed_body_without_loading_it_to_memory() throws Exception {
+    long length = 10_000_000;
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/big").doReturnStream(() -> generatedStream(length), length)
+        .withStatus(206)
+        .withHeader("Accept-Ranges", "bytes");
+    httpClientMock.onGet("/chunked").doReturnStream(() -> generatedStream(100));
+
+    HttpResponse big = httpClientMock.execute(new HttpGet("http://localhost/big"));
+    HttpResponse chunked = httpClientMock.execute(new HttpGet("http://localhost/chunked"));
+
+    assertThat(big, hasStatus(206));
+    assertEquals("bytes", big.getFirstHeader("Accept-Ranges").getValue());
+    assertEquals(length, big.getEntity().getContentLength());
+    assertEquals(length, countBytes(big.getEntity().getContent()));
+    assertEquals(-1, chunked.getEntity().getContentLength());
+    assertEquals(true, chunked.getEntity().isChunked());
+    assertEquals(100, countBytes(chunked.getEntity().getContent()));
+  }
+
+  private InputStream generatedStream(long length) {
+    return new InputStream() {
+      private long position = 0;
+
+      @Override
+      public int read() {
+        return position++ < length ? 'a' : -1;
+      }
+    };
+  }
+
+  private long countBytes(InputStream stream) throws IOException {
+    byte[] buffer = new byte[8192];
+    long count = 0;
+    int read;
+    while ((read = stream.read(buffer)) != -1) {
+      count += read;
+    }
+    return count;
+  }
+
+  @Test
+  public void should_delay_response() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/slow").doReturn("slow").withDelay(Duration.ofMillis(100));
+    httpClientMock.onGet("/random").doReturn("random").withDelay(Duration.ofMillis(10), Duration.ofMillis(20));
+
+    long start = System.nanoTime();
+    HttpResponse slow = httpClientMock.execute(new HttpGet("http://localhost/slow"));
+    long slowTime = System.nanoTime() - start;
+    start = System.nanoTime();
+    HttpResponse random = httpClientMock.execute(new HttpGet("http://localhost/random"));
+    long randomTime = System.nanoTime() - start;
+
+    assertThat(slow, hasContent("slow"));
+    assertThat(random, hasContent("random"));
+    assertThat(slowTime, greaterThanOrEqualTo(Duration.ofMillis(100).toNanos()));
+    assertThat(randomTime, greaterThanOrEqualTo(Duration.ofMillis(10).toNanos()));
+  }
+
+  @Test
+  public void should_limit_bandwidth_of_response_body() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/download").doReturn(repeat('a', 2000)).withBandwidth(10_000, Duration.ofMillis(50));
+
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost/download"));
+    long start = System.nanoTime();
+    long length = countBytes(response.getEntity().getContent());
+    long downloadTime = System.nanoTime() - start;
+
+    assertEquals(2000, length);
+    assertEquals(2000, response.getEntity().getContentLength());
+    assertThat(downloadTime, greaterThanOrEqualTo(Duration.ofMillis(250).toNanos()));
+  }
+
+  @Test
+  public void should_fail_reading_body_after_provided_number_of_bytes() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/download").doReturn(repeat('a', 1000))
+        .withBodyFailureAfterBytes(600, () -> new ConnectionClosedException("Premature end of Content-Length delimited message body"));
+
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost/download"));
+    InputStream content = response.getEntity().getContent();
+    byte[] buffer = new byte[400];
+
+    assertEquals(400, content.read(buffer));
+    assertEquals(200, content.read(buffer));
+    IOException exception = Assertions.assertThrows(ConnectionClosedException.class, () -> content.read(buffer));
+    IOException otherException = Assertions.assertThrows(ConnectionClosedException.class,
+        () -> countBytes(httpClientMock.execute(new HttpGet("http://localhost/download")).getEntity().getContent()));
+    Assertions.assertNotSame(exception, otherException);
+  }
+
+  @Test
+  public void should_fail_reading_body_at_its_end_when_it_is_not_longer_than_provided_number_of_bytes() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/exact").doReturn(repeat('a', 600)).withBodyFailureAfterBytes(600, ConnectionClosedException::new);
+    httpClientMock.onGet("/shorter").doReturn(repeat('a', 400)).withBodyFailureAfterBytes(600, ConnectionClosedException::new);
+
+    InputStream exact = httpClientMock.execute(new HttpGet("http://localhost/exact")).getEntity().getContent();
+    InputStream shorter = httpClientMock.execute(new HttpGet("http://localhost/shorter")).getEntity().getContent();
+    byte[] buffer = new byte[1000];
+
+    assertEquals(600, exact.read(buffer));
+    Assertions.assertThrows(ConnectionClosedException.class, () -> exact.read(buffer));
+    assertEquals(400, shorter.read(buffer));
+    Assertions.assertThrows(ConnectionClosedException.class, () -> shorter.read(buffer));
+  }
+
+  @Test
+  public void should_fail_reading_body_after_provided_time() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/download").doReturn("short").withBodyFailureAfterDelay(Duration.ofMillis(100), () -> new SocketTimeoutException("Read timed out"));
+
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost/download"));
+    long start = System.nanoTime();
+
+    Assertions.assertThrows(SocketTimeoutException.class, () -> countBytes(response.getEntity().getContent()));
+    assertThat(System.nanoTime() - start, greaterThanOrEqualTo(Duration.ofMillis(100).toNanos()));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> httpClientMock.onGet("/other").doReturn("ok").withBodyFailureAfterDelay(Duration.ofMillis(-1), SocketTimeoutException::new));
+  }
+
+  private String repeat(char character, int times) {
+    char[] characters = new char[times];
+    Arrays.fill(characters, character);
+    return new String(characters);
+  }
+
+  @Test
+  public void should_cycle_actions_when_sequence_policy_is_cycle() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/foo")
+        .doReturn("first")
+        .doReturn("second")
+        .withSequencePolicy(SequencePolicy.CYCLE);
+
+    HttpResponse response1 = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    HttpResponse response2 = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    HttpResponse response3 = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    assertThat(response1, hasContent("first"));
+    assertThat(response2, hasContent("second"));
+    assertThat(response3, hasContent("first"));
+  }
+
+  @Test
+  public void should_fail_when_actions_are_exhausted_and_sequence_policy_is_fail_when_exhausted() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.onGet("/foo")
+        .doThrowException(new IOException())
+        .doReturn("ok")
+        .withSequencePolicy(SequencePolicy.FAIL_WHEN_EXHAUSTED);
+
+    assertThrows(IOException.class, () -> httpClientMock.execute(new HttpGet("http://localhost/foo")));
+    HttpResponse response = httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    assertThat(response, hasContent("ok"));
+    assertThrows(IllegalStateException.class, () -> httpClientMock.execute(new HttpGet("http://localhost/foo")));
+  }
+
   @Test
   public void should_support_response_in_different_charsets() throws IOException {
     HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
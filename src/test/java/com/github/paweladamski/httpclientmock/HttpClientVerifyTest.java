@@ -2,12 +2,25 @@ package com.github.paweladamski.httpclientmock;
 
 import static com.github.paweladamski.httpclientmock.Requests.httpPost;
 import static com.github.paweladamski.httpclientmock.Requests.httpPut;
+import static com.github.paweladamski.httpclientmock.matchers.HttpResponseMatchers.hasContent;
+import static com.github.paweladamski.httpclientmock.matchers.HttpResponseMatchers.hasStatus;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 import com.github.paweladamski.httpclientmock.matchers.ParametersMatcher;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
@@ -16,6 +29,8 @@ import org.apache.http.client.methods.HttpOptions;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicNameValuePair;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
@@ -358,4 +373,282 @@ public class HttpClientVerifyTest {
         .called();
   }
 
+  @Test
+  public void should_keep_only_last_requests_when_journal_is_bounded() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setJournalPolicy(JournalPolicy.bounded(2));
+
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    httpClientMock.verify().get("/foo").called(greaterThanOrEqualTo(2));
+    IllegalStateException exception = Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> httpClientMock.verify().get("/login").called()
+    );
+    assertThat(exception.getMessage(), containsString("1 oldest requests"));
+  }
+
+  @Test
+  public void should_fail_when_evicted_requests_make_verification_uncertain() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setJournalPolicy(JournalPolicy.bounded(2));
+
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    httpClientMock.execute(new HttpGet("http://localhost/foo"));
+    httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    IllegalStateException notCalled = Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> httpClientMock.verify().get("/login").notCalled()
+    );
+    IllegalStateException calledTwice = Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> httpClientMock.verify().get("/foo").called(2)
+    );
+    assertThat(notCalled.getMessage(), containsString("there could be up to 1 matching calls"));
+    assertThat(calledTwice.getMessage(), containsString("result is uncertain"));
+  }
+
+  @Test
+  public void should_throw_exception_when_journal_is_disabled() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setJournalPolicy(JournalPolicy.disabled());
+
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+
+    Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> httpClientMock.verify().get("/login").notCalled()
+    );
+  }
+
+  @Test
+  public void should_verify_compact_journal_entries() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setJournalPolicy(JournalPolicy.unbounded().withCompactEntries(3, "Tracking"));
+
+    HttpPost request = new HttpPost("http://localhost/login?user=john");
+    request.addHeader("tracking", "123");
+    request.addHeader("foo", "bar");
+    request.setEntity(new StringEntity("abcdef"));
+    httpClientMock.execute(request);
+
+    httpClientMock.verify().post("/login")
+        .withParameter("user", "john")
+        .withHeader("tracking", "123")
+        .withBody(Matchers.equalTo("abc"))
+        .called();
+    httpClientMock.verify().post("/login")
+        .withHeader("foo", "bar")
+        .notCalled();
+  }
+
+  @Test
+  public void should_read_only_recorded_part_of_body_for_compact_journal_entries() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setJournalPolicy(JournalPolicy.unbounded().withCompactEntries(3));
+
+    ByteArrayInputStream content = new ByteArrayInputStream("abcdefgh".getBytes());
+    HttpPost request = new HttpPost("http://localhost/login");
+    request.setEntity(new InputStreamEntity(content));
+    httpClientMock.execute(request);
+    httpClientMock.onPost("/upload").withBody(Matchers.equalTo("abcdefgh")).doReturn("uploaded");
+    HttpPost upload = new HttpPost("http://localhost/upload");
+    upload.setEntity(new InputStreamEntity(new ByteArrayInputStream("abcdefgh".getBytes())));
+
+    assertThat(httpClientMock.execute(upload), hasContent("uploaded"));
+    Assertions.assertEquals(4, content.available());
+    httpClientMock.verify().post("/login").withBody(Matchers.equalTo("abc")).called();
+    httpClientMock.verify().post("/upload").withBody(Matchers.equalTo("abc")).called();
+  }
+
+  @Test
+  public void should_not_read_body_for_compact_journal_entries_without_body() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setJournalPolicy(JournalPolicy.unbounded().withCompactEntries(0));
+
+    ByteArrayInputStream content = new ByteArrayInputStream("abcdefgh".getBytes());
+    HttpPost request = new HttpPost("http://localhost/login");
+    request.setEntity(new InputStreamEntity(content));
+    httpClientMock.execute(request);
+
+    Assertions.assertEquals(8, content.available());
+    httpClientMock.verify().post("/login").withBody(Matchers.equalTo("")).called();
+  }
+
+  @Test
+  public void should_count_calls_executed_after_counter_was_registered() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setJournalPolicy(JournalPolicy.disabled());
+
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    CallCounter loginCalls = httpClientMock.verify().get("/login").countCalls();
+    CallCounter postCalls = httpClientMock.verify().post().countCalls();
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    httpClientMock.execute(new HttpGet("http://localhost/foo"));
+
+    loginCalls.called(2);
+    postCalls.notCalled();
+    Assertions.assertThrows(IllegalStateException.class, loginCalls::called);
+  }
+
+  @Test
+  public void should_verify_requests_by_literal_url_and_by_custom_conditions() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    httpClientMock.execute(new HttpGet("http://localhost/login?user=john"));
+    httpClientMock.execute(new HttpGet("http://localhost:8080/login"));
+    httpClientMock.execute(new HttpPost("http://localhost/login"));
+    httpClientMock.execute(new HttpGet("http://localhost/logout"));
+
+    httpClientMock.verify().get("/login").called(2);
+    httpClientMock.verify().get("/login").withHost("http://example.com").notCalled();
+    httpClientMock.verify().get("http://localhost:8080/login").called();
+    httpClientMock.verify().get().withPath(containsString("log")).called(4);
+    httpClientMock.verify().post().called();
+  }
+
+  @Test
+  public void should_verify_all_conditions_at_once() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+    httpClientMock.execute(new HttpPost("http://localhost/logout"));
+
+    httpClientMock.verify().all(v -> {
+      v.get("/login").called(2);
+      v.post("/logout").called();
+      v.delete().notCalled();
+    });
+  }
+
+  @Test
+  public void should_report_all_failed_verifications_together() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+
+    httpClientMock.execute(new HttpGet("http://localhost/login"));
+
+    IllegalStateException exception = Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> httpClientMock.verify().all(v -> {
+          v.get("/login").called(2);
+          v.get("/login").called();
+          v.post("/logout").called();
+        })
+    );
+    assertThat(exception.getMessage(), containsString("Verification 1: Expected <2> calls, but found 1."));
+    assertThat(exception.getMessage(), containsString("Verification 3: Expected <1> calls, but found 0."));
+    assertThat(exception.getMessage(), Matchers.not(containsString("Verification 2")));
+  }
+
+  @Test
+  public void should_verify_requests_in_parallel_when_journal_is_large() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.setParallelVerificationThreshold(10);
+
+    for (int i = 0; i < 100; i++) {
+      httpClientMock.execute(new HttpGet("http://localhost/login?id=" + i));
+      httpClientMock.execute(new HttpPost("http://localhost/logout"));
+    }
+
+    httpClientMock.verify().get("/login").called(100);
+    httpClientMock.verify().get("/login").withParameter("id", "7").called();
+    httpClientMock.verify().all(v -> {
+      v.get().withPath("/login").called(100);
+      v.post("/logout").called(100);
+    });
+  }
+
+  @Test
+  public void should_wait_for_requests_executed_in_background() throws Exception {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      executor.submit(() -> {
+        Thread.sleep(100);
+        httpClientMock.execute(new HttpPost("http://localhost/login"));
+        httpClientMock.execute(new HttpPost("http://localhost/login"));
+        return null;
+      });
+
+      httpClientMock.verify().post("/login").awaitCalled(2, Duration.ofSeconds(10));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void should_fail_when_request_is_not_executed_before_timeout() throws IOException {
+    HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+    httpClientMock.execute(new HttpPost("http://localhost/logout"));
+
+    IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+        () -> httpClientMock.verify().post("/login").calledWithin(Duration.ofMillis(50)));
+
+    assertThat(exception.getMessage(), containsString("within 50 ms, but found 0"));
+  }
+
+  @Test
+  public void should_verify_list_of_requests_without_call_counters() {
+    Request request = new Request(new HttpHost("localhost"), new HttpGet("http://localhost/login"), null);
+    HttpClientVerify verify = new HttpClientVerify("http://localhost", Collections.singletonList(request));
+
+    verify.get("/login").called();
+    Assertions.assertThrows(IllegalStateException.class, () -> verify.get("/login").countCalls());
+  }
+
+  private InputStream slowStream(String content) {
+    ByteArrayInputStream bytes = new ByteArrayInputStream(content.getBytes());
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        try {
+          Thread.sleep(2);
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        }
+        return bytes.read();
+      }
+
+      @Override
+      public int read(byte[] buffer, int offset, int length) throws IOException {
+        int next = read();
+        if (next == -1) {
+          return -1;
+        }
+        buffer[offset] = (byte) next;
+        return 1;
+      }
+    };
+  }
+
+  @Test
+  public void should_wait_for_requests_with_not_repeatable_body_matched_at_the_same_time() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      for (int i = 0; i < 20; i++) {
+        HttpClientMock httpClientMock = new HttpClientMock("http://localhost");
+        httpClientMock.onPost("/login").withBody(containsString("foo")).doReturn("ok");
+
+        Future<HttpResponse> response = executor.submit(() -> {
+          Thread.sleep(10);
+          HttpPost post = new HttpPost("http://localhost/login");
+          post.setEntity(new InputStreamEntity(slowStream("foo")));
+          return httpClientMock.execute(post);
+        });
+
+        httpClientMock.verify().post("/login").withBody(containsString("foo")).awaitCalled(1, Duration.ofSeconds(5));
+        assertThat(response.get(), hasStatus(200));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
 }
@@ -0,0 +1,36 @@
+package com.github.paweladamski.httpclientmock;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.Test;
+
+public class RequestTest {
+
+  @Test
+  public void should_parse_url_only_once() {
+    Request request = new Request(new HttpHost("localhost", 8080), new HttpGet("/login?user=john#edit"), null);
+
+    ParsedUrl url = request.getParsedUrl().get();
+
+    assertThat(request.getParsedUrl().get(), sameInstance(url));
+    assertThat(url.getProtocol(), equalTo("http"));
+    assertThat(url.getHost(), equalTo("localhost"));
+    assertThat(url.getPort(), equalTo(8080));
+    assertThat(url.getPath(), equalTo("/login"));
+    assertThat(url.getReference(), equalTo("edit"));
+    assertThat(url.getQueryParameters().get(0).getValue(), equalTo("john"));
+  }
+
+  @Test
+  public void should_return_empty_url_when_url_is_malformed() {
+    Request request = new Request(new HttpHost("localhost", -1, "foo"), new HttpGet("/login"), null);
+
+    assertFalse(request.getParsedUrl().isPresent());
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.github.paweladamski.httpclientmock.action;
+
+import static java.time.Duration.ofMillis;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class PercentileLatencyTest {
+
+  @Test
+  public void should_interpolate_delay_between_percentiles() {
+    PercentileLatency latency = Latency.percentile(50, ofMillis(20)).percentile(90, ofMillis(100)).percentile(99, ofMillis(1000));
+
+    assertEquals(ofMillis(20).toNanos(), latency.delayAt(10));
+    assertEquals(ofMillis(20).toNanos(), latency.delayAt(50));
+    assertEquals(ofMillis(60).toNanos(), latency.delayAt(70));
+    assertEquals(ofMillis(100).toNanos(), latency.delayAt(90));
+    assertEquals(ofMillis(1000).toNanos(), latency.delayAt(99.5));
+  }
+
+  @Test
+  public void should_not_accept_decreasing_percentiles() {
+    assertThrows(IllegalArgumentException.class, () -> Latency.percentile(90, ofMillis(100)).percentile(50, ofMillis(200)));
+    assertThrows(IllegalArgumentException.class, () -> Latency.percentile(50, ofMillis(100)).percentile(90, ofMillis(20)));
+  }
+}